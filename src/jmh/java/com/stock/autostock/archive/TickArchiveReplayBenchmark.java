@@ -0,0 +1,50 @@
+package com.stock.autostock.archive;
+
+import com.stock.autostock.config.ArchiveProps;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정규장 하루(6.5h × 1틱/초 = 23,400틱) 한 종목 전체 순회
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TickArchiveReplayBenchmark {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 2);
+    private static final int TICKS = 23_400;
+
+    private TickArchiveReader reader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path dir = Files.createTempDirectory("tick-archive-bench");
+        var writer = new ColumnarTickWriter(new ArchiveProps(ArchiveProps.Mode.ALONGSIDE, dir.toString(), 1024, 1000));
+        Instant open = Instant.parse("2025-01-02T14:30:00Z");
+        long px = 12_0000_0000L;
+        for (int i = 0; i < TICKS; i++) {
+            px += (i * 7919 % 2001) - 1000;
+            Instant m = open.plusSeconds(i);
+            writer.append("IREN", DAY, BigDecimal.valueOf(px, 8), m, m.plusMillis(i % 200));
+        }
+        writer.flush();
+        reader = new TickArchiveReader(dir);
+    }
+
+    @Benchmark
+    public long replayDay() {
+        long sum = 0;
+        try (TickCursor c = reader.open("IREN", DAY)) {
+            while (c.next()) sum += c.priceE8() ^ c.marketMs();
+        }
+        return sum;
+    }
+}
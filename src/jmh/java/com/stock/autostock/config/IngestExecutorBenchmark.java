@@ -0,0 +1,71 @@
+package com.stock.autostock.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1사이클(전 종목 blocking 조회 fan-out → join) 지연 비교: 고정 4스레드 풀 vs 가상 스레드.
+ * 조회는 RTT 만큼 잠드는 blocking I/O 로 흉내 낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class IngestExecutorBenchmark {
+
+    @Param({"3", "100", "500"})
+    int symbols;
+
+    @Param({"platform", "virtual"})
+    String threads;
+
+    @Param({"20"})
+    long rttMs;
+
+    private TaskExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(threads)) {
+            var vex = new SimpleAsyncTaskExecutor("bench-");
+            vex.setVirtualThreads(true);
+            executor = vex;
+        } else {
+            // priceIngestExecutor 와 같은 4스레드 — 큐만 종목 수만큼 늘려 거절 없이 직렬화되게
+            var ex = new ThreadPoolTaskExecutor();
+            ex.setCorePoolSize(4);
+            ex.setMaxPoolSize(4);
+            ex.setQueueCapacity(symbols);
+            ex.initialize();
+            executor = ex;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor ex) ex.shutdown();
+    }
+
+    @Benchmark
+    public void cycle() {
+        var futures = new CompletableFuture<?>[symbols];
+        for (int i = 0; i < symbols; i++) {
+            futures[i] = CompletableFuture.runAsync(this::blockingFetch, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void blockingFetch() {
+        try {
+            Thread.sleep(rttMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.stock.autostock.config;
+
+import com.stock.autostock.AutoStockApplication;
+import com.stock.autostock.config.PriceIngestJobConfig.TickItem;
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.entity.BaseSymbolTick.PriceSource;
+import com.stock.autostock.service.TickBatchWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * priceItemWriter → SymbolPriceCache + TickBatchWriter → 내장 H2 까지 한 청크(watchlist 전 종목) 기록.
+ * 수집 루프는 끄고(ingest.mode=off) 실제 빈 그대로 띄운다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriceItemWriterBenchmark {
+
+    private ConfigurableApplicationContext ctx;
+    private ItemWriter<TickItem> writer;
+    private TickBatchWriter tickWriter;
+    private Instant base;
+    private long seq;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ctx = new SpringApplicationBuilder(AutoStockApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "ingest.mode=off",
+                        "spring.batch.job.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1")
+                .run();
+        writer = ctx.getBean("priceItemWriter", ItemWriter.class);
+        tickWriter = ctx.getBean(TickBatchWriter.class);
+        base = Instant.now();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public void writeChunkAndFlush() throws Exception {
+        Instant ts = base.plusMillis(seq++);
+        List<TickItem> items = new ArrayList<>(TradableUs.DEFAULTS.size());
+        for (var asset : TradableUs.DEFAULTS) {
+            items.add(new TickItem(asset, new BigDecimal("12.3456"), ts, ts, PriceSource.PRICE_LAST));
+        }
+        writer.write(new Chunk<>(items));
+        tickWriter.flush();
+    }
+}
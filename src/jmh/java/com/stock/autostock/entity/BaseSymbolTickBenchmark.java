@@ -0,0 +1,26 @@
+package com.stock.autostock.entity;
+
+import com.stock.autostock.entity.BaseSymbolTick.PriceSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BaseSymbolTickBenchmark {
+
+    private final TickSymbol symbol = new TickSymbol("IREN", "NASD");
+    private final BigDecimal last = new BigDecimal("12.3456");
+    private final LocalDate day = LocalDate.of(2025, 1, 2);
+    private final Instant marketTs = Instant.parse("2025-01-02T15:30:00Z");
+    private final Instant ingestedAt = marketTs.plusMillis(850);
+
+    @Benchmark
+    public SymbolTick construct() {
+        return new SymbolTick(symbol, day, last, marketTs, ingestedAt, PriceSource.PRICE_LAST);
+    }
+}
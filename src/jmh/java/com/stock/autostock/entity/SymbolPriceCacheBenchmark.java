@@ -0,0 +1,67 @@
+package com.stock.autostock.entity;
+
+import com.stock.autostock.entity.BaseSymbolTick.PriceSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1 writer(put) + 3 reader(currentFresh/atOrBefore) 동시 경합
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SymbolPriceCacheBenchmark {
+
+    private static final String TICKER = "IREN";
+    private static final int HIST_CAP = 600;
+
+    private SymbolPriceCache cache;
+    private TickSymbol symbol;
+    private LocalDate day;
+    private Instant base;
+    private volatile long seq;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new SymbolPriceCache(Duration.ofSeconds(5), HIST_CAP);
+        symbol = new TickSymbol(TICKER, "NASD");
+        day = LocalDate.now();
+        base = Instant.now();
+        for (int i = 0; i < HIST_CAP; i++) {
+            cache.put(TICKER, tick(i));
+        }
+        seq = HIST_CAP;
+    }
+
+    private SymbolTick tick(long i) {
+        Instant ts = base.plusMillis(i * 1000);
+        return new SymbolTick(symbol, day, BigDecimal.valueOf(1000 + (i % 100), 2), ts, ts, PriceSource.PRICE_LAST);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public void put() {
+        cache.put(TICKER, tick(seq++));
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public Object currentFresh() {
+        return cache.currentFresh(TICKER);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public Object atOrBefore() {
+        // 최근 10분 구간 중간 지점 조회
+        return cache.atOrBefore(TICKER, base.plusMillis((seq - HIST_CAP / 2) * 1000));
+    }
+}
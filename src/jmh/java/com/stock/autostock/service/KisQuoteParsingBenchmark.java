@@ -0,0 +1,38 @@
+package com.stock.autostock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /quotations/price 응답 역직렬화 + toMarketInstant 변환
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KisQuoteParsingBenchmark {
+
+    private static final byte[] BODY = ("""
+            {"rt_cd":"0","msg_cd":"MCA00000","msg1":"정상처리 되었습니다.",
+             "output":{"rsym":"DNASIREN","zdiv":"4","base":"12.1000","pvol":"10231456",
+                       "last":"12.3456","sign":"2","diff":"0.2456","rate":"+2.03","tvol":"8123456",
+                       "tamt":"100234567","ordy":"매도불가","xymd":"20250102","hms":"103015"}}
+            """).getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Benchmark
+    public KisQuoteService.LastTick parseResponse() throws IOException {
+        var res = mapper.readValue(BODY, KisQuoteService.PriceResponse.class);
+        return KisQuoteService.toLastTick(res, "NASD");
+    }
+
+    @Benchmark
+    public Instant toMarketInstant() {
+        return KisQuoteService.toMarketInstant("20250102", "103015", "NASD");
+    }
+}
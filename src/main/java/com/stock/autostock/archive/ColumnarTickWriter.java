@@ -0,0 +1,261 @@
+package com.stock.autostock.archive;
+
+import com.stock.autostock.config.ArchiveProps;
+import com.stock.autostock.entity.PriceHistoryRing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수집 writer 옆에서 종목/일자별 컬럼형 파일에 append. 틱은 원시 배열에 모았다가 blockSize 또는
+ * flushIntervalMs 마다 블록 1개로 인코딩해 한 번의 write 로 붙인다.
+ * 파일을 처음 열 때 끝의 쓰다 만 블록(기록 중 종료)을 잘라내고 이어 붙이므로 뒤 블록이 가려지지 않는다.
+ * 기록 실패 시 그 블록의 틱만 버리고 수집은 계속한다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ArchiveProps.class)
+@ConditionalOnExpression("'${archive.mode:off}' != 'off'")
+public class ColumnarTickWriter implements SmartLifecycle {
+
+    private final Path root;
+    private final int blockSize;
+    private final long flushIntervalMs;
+    private final ConcurrentHashMap<String, Block> open = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    public ColumnarTickWriter(ArchiveProps props) {
+        this.root = Path.of(props.dir());
+        this.blockSize = props.blockSize();
+        this.flushIntervalMs = props.flushIntervalMs();
+    }
+
+    public static Path fileOf(Path root, String ticker, LocalDate tradingDay) {
+        return root.resolve(ticker).resolve(tradingDay + TickColumnFormat.EXTENSION);
+    }
+
+    /** 틱 1건 적재 — 블록이 차면 호출 스레드에서 기록 */
+    public void append(String ticker, LocalDate tradingDay, BigDecimal last, Instant marketTs, Instant ingestedAt) {
+        String key = ticker + '/' + tradingDay;
+        long ms = marketTs.toEpochMilli();
+        long priceE8 = PriceHistoryRing.toScaled(last);
+        int latencyMs = (int) Math.max(0, ingestedAt.toEpochMilli() - ms);
+        while (true) {
+            Block b = open.computeIfAbsent(key, k -> new Block(fileOf(root, ticker, tradingDay), blockSize));
+            if (b.add(ms, priceE8, latencyMs)) return;
+            // flush() 가 방금 정리한 블록 — 새로 만들어 다시 시도
+        }
+    }
+
+    public void flush() {
+        RuntimeException failed = null;
+        for (String key : open.keySet()) {
+            Block b = open.get(key);
+            if (b == null) continue;
+            try {
+                b.flush();
+            } catch (UncheckedIOException e) {
+                failed = e;
+            }
+            // 지난 일자 블록 정리 — 정리 표시와 제거를 한 번에 해서 그 사이 add 가 끼어들어도 틱을 잃지 않음
+            open.computeIfPresent(key, (k, v) -> v.retireIfIdle() ? null : v);
+        }
+        if (failed != null) throw failed;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("columnar tick flush failed", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tick-archive-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher = null;
+        }
+        flushQuietly();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    /** 종목/일자 하나의 미기록 틱 — 원시 배열, 재사용 */
+    static final class Block {
+        private final Path file;
+        private final long[] ts;
+        private final long[] px;
+        private final int[] lat;
+        private final ByteBuffer buf;
+        private int n;
+        private boolean wroteSinceLastFlush;
+        private boolean recovered;     // 파일 끝 손상 블록 정리 여부 (처음 기록 시 1회)
+        private boolean retired;       // 맵에서 빠짐 — 이후 add 는 새 블록으로
+
+        Block(Path file, int capacity) {
+            this.file = file;
+            this.ts = new long[capacity];
+            this.px = new long[capacity];
+            this.lat = new int[capacity];
+            this.buf = ByteBuffer.allocate(TickColumnFormat.HEADER_BYTES + capacity * 3 * TickColumnFormat.MAX_VARLONG);
+        }
+
+        /** 정리된 블록이면 false — 호출자가 새 블록으로 다시 시도 */
+        synchronized boolean add(long ms, long priceE8, int latencyMs) {
+            if (retired) return false;
+            ts[n] = ms;
+            px[n] = priceE8;
+            lat[n] = latencyMs;
+            if (++n == ts.length) {
+                try {
+                    flush();
+                } catch (UncheckedIOException e) {
+                    log.warn("columnar tick append dropped a block: {}", file, e); // 수집은 계속
+                }
+            }
+            return true;
+        }
+
+        /** 실패해도 버퍼는 비운다 — 다음 add 가 꽉 찬 배열에 쓰지 않도록 */
+        synchronized void flush() {
+            if (n == 0) {
+                wroteSinceLastFlush = false;
+                return;
+            }
+            int count = n;
+            n = 0;
+            encode(buf, ts, px, lat, count);
+            try {
+                Files.createDirectories(file.getParent());
+                try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    if (!recovered) {
+                        truncateTornTail(ch);
+                        recovered = true;
+                    }
+                    long end = ch.size();
+                    try {
+                        ch.position(end);
+                        while (buf.hasRemaining()) ch.write(buf);
+                    } catch (IOException e) {
+                        ch.truncate(end); // 일부만 쓰인 블록 제거
+                        throw e;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("append failed (" + count + " ticks dropped): " + file, e);
+            }
+            wroteSinceLastFlush = true;
+        }
+
+        synchronized boolean retireIfIdle() {
+            retired = n == 0 && !wroteSinceLastFlush;
+            return retired;
+        }
+    }
+
+    /** 마지막 온전한 블록 뒤를 잘라냄 */
+    static void truncateTornTail(FileChannel ch) throws IOException {
+        long size = ch.size();
+        long valid = validLength(ch, size);
+        if (valid < size) {
+            log.warn("columnar tick file truncated from {} to {} bytes (torn trailing block)", size, valid);
+            ch.truncate(valid);
+        }
+    }
+
+    /** 헤더를 따라가며 온전한 블록이 끝나는 위치 */
+    static long validLength(FileChannel ch, long size) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(TickColumnFormat.HEADER_BYTES);
+        long pos = 0;
+        while (pos + TickColumnFormat.HEADER_BYTES <= size) {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (ch.read(header, pos + header.position()) < 0) return pos;
+            }
+            if (header.getInt(0) != TickColumnFormat.MAGIC || header.getInt(4) <= 0) return pos;
+            long tsLen = header.getInt(40), pxLen = header.getInt(44), latLen = header.getInt(48);
+            if (tsLen < 0 || pxLen < 0 || latLen < 0) return pos;
+            long next = pos + TickColumnFormat.HEADER_BYTES + tsLen + pxLen + latLen;
+            if (next > size) return pos;
+            pos = next;
+        }
+        return pos;
+    }
+
+    /** 블록 1개 인코딩 — buf 는 읽기 가능한 상태(flip)로 반환 */
+    static void encode(ByteBuffer buf, long[] ts, long[] px, int[] lat, int n) {
+        buf.clear();
+        buf.position(TickColumnFormat.HEADER_BYTES);
+
+        int start = buf.position();
+        for (int i = 0; i < n; i++) {
+            TickColumnFormat.putVarLong(buf, TickColumnFormat.zigzag(i == 0 ? 0 : ts[i] - ts[i - 1]));
+        }
+        int tsLen = buf.position() - start;
+
+        start = buf.position();
+        for (int i = 0; i < n; i++) {
+            TickColumnFormat.putVarLong(buf, TickColumnFormat.zigzag(i == 0 ? 0 : px[i] - px[i - 1]));
+        }
+        int pxLen = buf.position() - start;
+
+        start = buf.position();
+        for (int i = 0; i < n; i++) {
+            TickColumnFormat.putVarLong(buf, lat[i]);
+        }
+        int latLen = buf.position() - start;
+
+        long min = ts[0], max = ts[0];
+        for (int i = 1; i < n; i++) {
+            min = Math.min(min, ts[i]);
+            max = Math.max(max, ts[i]);
+        }
+
+        int end = buf.position();
+        buf.position(0);
+        buf.putInt(TickColumnFormat.MAGIC)
+                .putInt(n)
+                .putLong(ts[0])
+                .putLong(min)
+                .putLong(max)
+                .putLong(px[0])
+                .putInt(tsLen)
+                .putInt(pxLen)
+                .putInt(latLen);
+        buf.position(0);
+        buf.limit(end);
+    }
+}
@@ -0,0 +1,64 @@
+package com.stock.autostock.archive;
+
+import com.stock.autostock.config.ArchiveProps;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 컬럼형 틱 파일 조회 — 백테스트/리플레이용. JDBC/엔티티를 거치지 않는다.
+ */
+@Component
+@EnableConfigurationProperties(ArchiveProps.class)
+public class TickArchiveReader {
+
+    private final Path root;
+
+    @Autowired
+    public TickArchiveReader(ArchiveProps props) {
+        this(Path.of(props.dir()));
+    }
+
+    public TickArchiveReader(Path root) {
+        this.root = root;
+    }
+
+    /** 하루 전체 */
+    public TickCursor open(String ticker, LocalDate tradingDay) {
+        return open(ticker, tradingDay, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /** [from, to) 범위 */
+    public TickCursor open(String ticker, LocalDate tradingDay, Instant from, Instant to) {
+        return open(ticker, tradingDay, from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    private TickCursor open(String ticker, LocalDate tradingDay, long fromMs, long toMs) {
+        Path file = ColumnarTickWriter.fileOf(root, ticker, tradingDay);
+        return Files.exists(file) ? new TickCursor(file, fromMs, toMs) : TickCursor.empty();
+    }
+
+    /** 보관된 일자 목록 (오름차순) */
+    public List<LocalDate> days(String ticker) {
+        Path dir = root.resolve(ticker);
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.endsWith(TickColumnFormat.EXTENSION))
+                    .map(n -> LocalDate.parse(n.substring(0, n.length() - TickColumnFormat.EXTENSION.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.stock.autostock.archive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 컬럼형 틱 파일 포맷. 파일 = 블록의 나열(append-only), 블록 하나:
+ * <pre>
+ *   int   magic        'TCB1'
+ *   int   count        틱 수
+ *   long  firstMs      첫 틱 marketTs (epoch ms) — 델타의 기준
+ *   long  minMs, maxMs 블록 내 marketTs 범위 — 범위 탐색 시 블록 단위로 건너뜀 (역전 틱도 안전)
+ *   long  firstPx      첫 틱 가격 (scale 8 정수)
+ *   int   tsLen, pxLen, latLen   각 컬럼 바이트 수
+ *   byte[tsLen]   marketTs 델타   (zigzag varint, 첫 값은 0)
+ *   byte[pxLen]   가격 델타       (zigzag varint, 첫 값은 0)
+ *   byte[latLen]  지연 ms         (varint, ingestedAt = marketTs + 지연)
+ * </pre>
+ * 1초 간격 틱이면 시각 1~2바이트, 가격 1~3바이트 — 행당 평균 5바이트 안팎.
+ */
+public final class TickColumnFormat {
+
+    public static final int MAGIC = 0x54434231; // "TCB1"
+    public static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 8 + 4 + 4 + 4;
+    public static final String EXTENSION = ".tcol";
+
+    private TickColumnFormat() {
+    }
+
+    static void putVarLong(ByteBuffer buf, long v) {
+        while ((v & ~0x7FL) != 0) {
+            buf.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buf.put((byte) v);
+    }
+
+    static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /** varint 최대 길이 (long) */
+    static final int MAX_VARLONG = 10;
+}
@@ -0,0 +1,130 @@
+package com.stock.autostock.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 컬럼형 파일 하나를 mmap 해서 [fromMs, toMs) 범위 틱을 순회. next() 한 번에 세 컬럼에서 varint 하나씩
+ * 꺼낼 뿐 — 행마다 객체를 만들지 않는다. 범위 밖 블록은 헤더만 보고 건너뜀.
+ * 끝의 잘린 블록(기록 중 종료)은 무시. 스레드 하나에서만 사용.
+ */
+public final class TickCursor implements AutoCloseable {
+
+    private final ByteBuffer map;
+    private final long fromMs, toMs;
+
+    private int nextBlock;     // 다음 블록 헤더 위치
+    private int left;          // 현재 블록에 남은 행
+    private int tsPos, pxPos, latPos;
+    private int readPos;       // readVar 가 넘겨주는 위치
+
+    private long ts, px;
+    private int latency;
+
+    TickCursor(Path file, long fromMs, long toMs) {
+        this.fromMs = fromMs;
+        this.toMs = toMs;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()); // 매핑은 채널을 닫아도 유지
+            this.map = m;
+        } catch (IOException e) {
+            throw new UncheckedIOException("open failed: " + file, e);
+        }
+    }
+
+    private TickCursor() {
+        this.map = ByteBuffer.allocate(0);
+        this.fromMs = 0;
+        this.toMs = 0;
+    }
+
+    /** 파일이 없을 때 — 바로 끝 */
+    static TickCursor empty() {
+        return new TickCursor();
+    }
+
+    /** 다음 범위 내 틱으로 이동, 없으면 false */
+    public boolean next() {
+        while (true) {
+            if (left == 0 && !openBlock()) return false;
+            left--;
+            readPos = tsPos;
+            ts += TickColumnFormat.unzigzag(readVar());
+            tsPos = readPos;
+            readPos = pxPos;
+            px += TickColumnFormat.unzigzag(readVar());
+            pxPos = readPos;
+            readPos = latPos;
+            latency = (int) readVar();
+            latPos = readPos;
+            if (ts >= fromMs && ts < toMs) return true;
+        }
+    }
+
+    /** marketTs (epoch ms) */
+    public long marketMs() {
+        return ts;
+    }
+
+    /** 가격 (scale 8 정수, {@link com.stock.autostock.entity.PriceHistoryRing#fromScaled}) */
+    public long priceE8() {
+        return px;
+    }
+
+    /** ingestedAt - marketTs (ms) */
+    public int latencyMs() {
+        return latency;
+    }
+
+    private boolean openBlock() {
+        int limit = map.limit();
+        while (nextBlock + TickColumnFormat.HEADER_BYTES <= limit) {
+            int p = nextBlock;
+            if (map.getInt(p) != TickColumnFormat.MAGIC) return false; // 손상 — 이후는 신뢰 불가
+            int count = map.getInt(p + 4);
+            long first = map.getLong(p + 8);
+            long min = map.getLong(p + 16);
+            long max = map.getLong(p + 24);
+            long firstPx = map.getLong(p + 32);
+            int tsLen = map.getInt(p + 40);
+            int pxLen = map.getInt(p + 44);
+            int latLen = map.getInt(p + 48);
+            int body = p + TickColumnFormat.HEADER_BYTES;
+            if (body + tsLen + pxLen + latLen > limit) return false; // 잘린 블록
+
+            nextBlock = body + tsLen + pxLen + latLen;
+            if (max < fromMs || min >= toMs) continue;
+
+            left = count;
+            ts = first;  // 첫 델타는 0
+            px = firstPx;
+            tsPos = body;
+            pxPos = body + tsLen;
+            latPos = body + tsLen + pxLen;
+            return true;
+        }
+        return false;
+    }
+
+    private long readVar() {
+        long v = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = map.get(readPos++);
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return v;
+    }
+
+    @Override
+    public void close() {
+        // 매핑 해제는 GC 가 처리 — 명시적 unmap API 없음
+    }
+}
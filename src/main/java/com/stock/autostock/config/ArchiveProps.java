@@ -0,0 +1,18 @@
+package com.stock.autostock.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 종목/일자별 컬럼형 틱 파일 ({@code <dir>/<TICKER>/<yyyy-MM-dd>.tcol})
+ */
+@ConfigurationProperties(prefix = "archive")
+public record ArchiveProps(
+        @DefaultValue("off") Mode mode,
+        @DefaultValue("./data/ticks") String dir,
+        @DefaultValue("1024") int blockSize,        // 블록당 최대 틱 수 — 블록 헤더의 시각 범위로 탐색 시 건너뜀
+        @DefaultValue("1000") long flushIntervalMs  // 덜 찬 블록도 이 주기로 기록
+) {
+    /** off: 안 씀, alongside: tick 테이블과 함께, only: 파일에만 (tick 테이블 저장 생략) */
+    public enum Mode { OFF, ALONGSIDE, ONLY }
+}
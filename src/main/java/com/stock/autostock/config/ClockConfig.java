@@ -0,0 +1,20 @@
+package com.stock.autostock.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Clock;
+
+/**
+ * 수집 시각/토큰 만료 판단용 시계 — replay 프로필에서는 ReplayClock 이 대신한다
+ */
+@Configuration
+@Profile("!replay")
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,14 @@
+package com.stock.autostock.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * 롤링 지표 창 크기(틱 개수). 창마다 SMA/EMA/최소/최대/분산을 틱당 O(1)로 갱신
+ */
+@ConfigurationProperties(prefix = "indicator")
+public record IndicatorProps(
+        @DefaultValue({"20", "60", "300"}) List<Integer> windows
+) {}
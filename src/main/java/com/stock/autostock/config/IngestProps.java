@@ -0,0 +1,47 @@
+package com.stock.autostock.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "ingest")
+public record IngestProps(
+        @DefaultValue("engine") Mode mode, // engine: 상주 루프, batch: Quartz → Spring Batch, off: 수집 안 함
+        @DefaultValue("1000") long intervalMs,
+        @DefaultValue Writer writer,
+        @DefaultValue Store store,
+        @DefaultValue Stream stream,
+        @DefaultValue Dedup dedup
+) {
+    public enum Mode { ENGINE, BATCH, OFF }
+
+    /** 틱 batch 저장 — 대기 flushSize 건 또는 flushIntervalMs 마다 flush, 실패분은 maxPending 까지 다시 대기열로 */
+    public record Writer(
+            @DefaultValue("500") int flushSize,
+            @DefaultValue("1000") long flushIntervalMs,
+            @DefaultValue("20000") int maxPending
+    ) {}
+
+    /** 통합 tick 테이블 — 기존 종목별 테이블 이관 여부, persist=false 면 틱/봉 저장 생략(캐시·이벤트만) */
+    public record Store(
+            @DefaultValue("true") boolean migrateLegacy,
+            @DefaultValue("false") boolean dropLegacy,
+            @DefaultValue("true") boolean persist
+    ) {}
+
+    /**
+     * 캐시 최신값과 같은 틱은 writer 전에 버림. deadbandBps > 0 이면 마지막 저장 대비 그 이내 가격 변화는
+     * 저장/아카이브만 생략(캐시·이벤트는 그대로), 단 deadbandMaxGapMs 마다 한 건은 저장
+     */
+    public record Dedup(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("0") double deadbandBps,
+            @DefaultValue("60000") long deadbandMaxGapMs
+    ) {}
+
+    /** 실시간 체결 WebSocket — 종목별 마지막 수신이 staleAfterMs 를 넘기면 폴링으로 대체 */
+    public record Stream(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("ws://ops.koreainvestment.com:21000") String url,
+            @DefaultValue("3000") long staleAfterMs
+    ) {}
+}
@@ -0,0 +1,51 @@
+package com.stock.autostock.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * KIS REST 호출 측 튜닝값 (계정/키는 KisProps)
+ */
+@ConfigurationProperties(prefix = "kis.client")
+public record KisClientProps(
+        @DefaultValue Quote quote,
+        @DefaultValue RateLimit rateLimit,
+        @DefaultValue Resilience resilience,
+        @DefaultValue Order order,
+        @DefaultValue Token token
+) {
+    /** 다종목 시세 조회 — 동시에 나가는 시세 요청 상한 */
+    public record Quote(
+            @DefaultValue("8") int maxConcurrency
+    ) {}
+
+    /** 토큰버킷 — 모든 KIS REST 호출 공용 예산. quoteMaxWaitMs 안에 못 받은 시세 요청은 버림 */
+    public record RateLimit(
+            @DefaultValue("18") double permitsPerSecond,
+            @DefaultValue("18") double burst,
+            @DefaultValue("250") long quoteMaxWaitMs
+    ) {}
+
+    /** 재시도(지터 백오프) + 연속 실패 회로차단 */
+    public record Resilience(
+            @DefaultValue("3") int maxAttempts,
+            @DefaultValue("100") long baseBackoffMs,
+            @DefaultValue("1000") long maxBackoffMs,
+            @DefaultValue("5") int failureThreshold,
+            @DefaultValue("10000") long openMs
+    ) {}
+
+    /** 주문 — hashKey=false 면 해시키 왕복을 생략(계정 설정상 필수가 아닐 때) */
+    public record Order(
+            @DefaultValue("true") boolean hashKey
+    ) {}
+
+    /**
+     * 접근 토큰 — file 이 비어 있지 않으면 암호화해 저장(재기동 시 재사용),
+     * refreshAheadSec > 0 이면 만료 그만큼 전에 백그라운드 갱신
+     */
+    public record Token(
+            @DefaultValue("./data/kis-token.bin") String file,
+            @DefaultValue("600") long refreshAheadSec
+    ) {}
+}
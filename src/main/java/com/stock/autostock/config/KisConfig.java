@@ -1,28 +1,82 @@
 package com.stock.autostock.config;
 
+import com.stock.autostock.service.EncryptedFileTokenStore;
+import com.stock.autostock.service.KisRequestScheduler;
 import com.stock.autostock.service.TokenManagerLean;
+import com.stock.autostock.service.TokenStore;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
-@EnableConfigurationProperties(KisProps.class)
+@EnableConfigurationProperties({KisProps.class, KisClientProps.class})
 public class KisConfig {
 
     @Bean("kisRestClient")
-    RestClient kisRestClient(RestClient.Builder builder, KisProps props) {
+    RestClient kisRestClient(RestClient.Builder builder, KisProps props, KisRequestScheduler scheduler,
+                             Environment env) {
+        if (Threading.VIRTUAL.isActive(env)) {
+            // 시세/주문 HTTP 호출도 가상 스레드 위에서 — JDK HttpClient 내부 비동기 작업까지 포함
+            builder.requestFactory(new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build()));
+        }
         return builder
                 .baseUrl(props.baseUrl())
+                .requestInterceptor(scheduler) // 호출 한도/우선순위
                 .defaultHeader("appkey", props.appKey())
                 .defaultHeader("appsecret", props.appSecret())
                 .defaultHeader("custtype", props.custType())
                 .build();
     }
 
+    /** 다종목 시세 조회 풀 — maxConcurrency 개 고정(가상 스레드 모드면 가상 스레드로) */
+    @Bean(destroyMethod = "shutdownNow")
+    ExecutorService kisQuoteExecutor(KisClientProps clientProps, Environment env) {
+        int n = clientProps.quote().maxConcurrency();
+        if (Threading.VIRTUAL.isActive(env)) {
+            return Executors.newFixedThreadPool(n, Thread.ofVirtual().name("kis-quote-", 1).factory());
+        }
+        AtomicInteger seq = new AtomicInteger();
+        return Executors.newFixedThreadPool(n, r -> {
+            Thread t = new Thread(r, "kis-quote-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** 주문 풀 — 종목이 다른 주문끼리, 그리고 해시키/토큰 조회끼리 동시에 진행 */
+    @Bean(destroyMethod = "shutdownNow")
+    ExecutorService kisOrderExecutor(Environment env) {
+        if (Threading.VIRTUAL.isActive(env)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("kis-order-", 1).factory());
+        }
+        AtomicInteger seq = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "kis-order-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
     @Bean
-    TokenManagerLean tokenManagerLean(@Qualifier("kisRestClient") RestClient rc, KisProps p) {
-        return new TokenManagerLean(rc, p.appKey(), p.appSecret());
+    TokenManagerLean tokenManagerLean(@Qualifier("kisRestClient") RestClient rc, KisProps p,
+                                      KisClientProps clientProps, Clock clock) {
+        var t = clientProps.token();
+        TokenStore store = t.file() == null || t.file().isBlank() ? null
+                : new EncryptedFileTokenStore(Path.of(t.file()), p.appKey(), p.appSecret());
+        return new TokenManagerLean(rc, p.appKey(), p.appSecret(), clock, store, t.refreshAheadSec());
     }
 }
@@ -0,0 +1,36 @@
+package com.stock.autostock.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 미국 거래소 세션 — 시각은 거래소 현지 시간(KisQuoteService.zoneOf). 휴장일/조기 폐장일은 해마다 갱신
+ */
+@ConfigurationProperties(prefix = "market")
+public record MarketSessionProps(
+        @DefaultValue("true") boolean enabled,             // false: 세션 무시, 항상 정규 주기로 폴링
+        @DefaultValue Hours hours,
+        @DefaultValue List<LocalDate> holidays,
+        @DefaultValue List<LocalDate> halfDays,            // 조기 폐장 (정규장 earlyClose, 시간외 earlyPostClose 까지)
+        @DefaultValue("5000") long slowIntervalMs,          // 프리/애프터마켓 폴링 주기 하한
+        @DefaultValue Backoff backoff
+) {
+    public record Hours(
+            @DefaultValue("04:00") LocalTime preOpen,
+            @DefaultValue("09:30") LocalTime open,
+            @DefaultValue("16:00") LocalTime close,
+            @DefaultValue("20:00") LocalTime postClose,
+            @DefaultValue("13:00") LocalTime earlyClose,
+            @DefaultValue("17:00") LocalTime earlyPostClose
+    ) {}
+
+    /** 같은 marketTs 가 unchangedThreshold 번 이어질 때마다 주기 2배, 최대 maxMultiplier 배 */
+    public record Backoff(
+            @DefaultValue("3") int unchangedThreshold,
+            @DefaultValue("8") int maxMultiplier
+    ) {}
+}
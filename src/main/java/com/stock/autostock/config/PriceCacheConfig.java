@@ -1,10 +1,16 @@
 package com.stock.autostock.config;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.stock.autostock.entity.SymbolPriceCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 @Configuration
 public class PriceCacheConfig {
@@ -13,4 +19,27 @@ public class PriceCacheConfig {
     public SymbolPriceCache symbolPriceCache() {
         return new SymbolPriceCache(Duration.ofSeconds(5), 600);
     }
+
+    /** Caffeine 통계를 Micrometer 캐시 메트릭 이름(cache.gets/cache.evictions)으로 — 스크랩 시점에 읽음 */
+    @Bean
+    public MeterBinder symbolPriceCacheMetrics(SymbolPriceCache cache) {
+        return registry -> {
+            bind(registry, cache, "price.latest", SymbolPriceCache::latestStats);
+            bind(registry, cache, "price.history", SymbolPriceCache::historyStats);
+        };
+    }
+
+    private static void bind(MeterRegistry registry, SymbolPriceCache cache,
+                             String name, Function<SymbolPriceCache, CacheStats> stats) {
+        counter(registry, cache, name, "cache.gets", "hit", c -> stats.apply(c).hitCount());
+        counter(registry, cache, name, "cache.gets", "miss", c -> stats.apply(c).missCount());
+        counter(registry, cache, name, "cache.evictions", null, c -> stats.apply(c).evictionCount());
+    }
+
+    private static void counter(MeterRegistry registry, SymbolPriceCache cache,
+                                String cacheName, String meter, String result, ToDoubleFunction<SymbolPriceCache> f) {
+        var b = FunctionCounter.builder(meter, cache, f).tag("cache", cacheName);
+        if (result != null) b.tag("result", result);
+        b.register(registry);
+    }
 }
\ No newline at end of file
@@ -1,9 +1,22 @@
 package com.stock.autostock.config;
 
+import com.stock.autostock.archive.ColumnarTickWriter;
 import com.stock.autostock.domain.TradableUs;
 import com.stock.autostock.entity.BaseSymbolTick.PriceSource;
 import com.stock.autostock.entity.*;
+import com.stock.autostock.service.AdaptivePollPolicy;
+import com.stock.autostock.service.BarAggregator;
 import com.stock.autostock.service.KisQuoteService;
+import com.stock.autostock.service.KisTickStreamClient;
+import com.stock.autostock.service.PersistDeadband;
+import com.stock.autostock.service.SymbolInterner;
+import com.stock.autostock.service.TickChangeFilter;
+import com.stock.autostock.service.TickBatchWriter;
+import com.stock.autostock.shard.ShardCoordinator;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -16,34 +29,62 @@ import org.springframework.batch.integration.async.AsyncItemWriter;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.support.CompositeItemProcessor;
 import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties({IngestProps.class, ArchiveProps.class})
 public class PriceIngestJobConfig {
 
+    private static final int CHUNK_SIZE = 64; // 관심종목 수가 런타임에 바뀌므로 고정 — 보통 한 청크에 전 종목
+
     private final KisQuoteService kis;
     private final SymbolPriceCache cache;
-    private final IrenTickRepository irenRepo;
-    private final BitfTickRepository bitfRepo;
-    private final ClskTickRepository clskRepo;
+    private final SymbolInterner symbols;
+    private final WatchlistRegistry watchlist;
+    private final AdaptivePollPolicy pollPolicy;                         // 장 세션/무변화 백오프
+    private final TickBatchWriter tickWriter;
+    private final BarAggregator bars;
+    private final ArchiveProps archiveProps;
+    private final ObjectProvider<ColumnarTickWriter> archive;          // archive.mode != off 일 때만 존재
+    private final Clock clock;                                           // 리플레이 시 시뮬레이션 시계
+    private final ObjectProvider<KisTickStreamClient> tickStream; // ingest.stream.enabled=true 일 때만 존재
+    private final ObjectProvider<ShardCoordinator> shard;          // shard.enabled=true 일 때만 존재
 
     @Bean
-    public TaskExecutor priceIngestExecutor() {
+    public TaskExecutor priceIngestExecutor(Environment env) {
+        if (Threading.VIRTUAL.isActive(env)) {
+            // spring.threads.virtual.enabled=true — 조회는 순수 blocking I/O 라 종목당 가상 스레드 1개
+            var vex = new SimpleAsyncTaskExecutor("price-ingest-");
+            vex.setVirtualThreads(true);
+            return vex;
+        }
         ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
         ex.setThreadNamePrefix("price-ingest-");
         ex.setCorePoolSize(4);
         ex.setMaxPoolSize(4);
-        ex.setQueueCapacity(16);
+        ex.setQueueCapacity(256); // 관심종목 수백 개의 슬롯이 잠깐 겹쳐도 거절하지 않게
         ex.initialize();
         return ex;
     }
@@ -51,21 +92,54 @@ public class PriceIngestJobConfig {
     @Bean
     @StepScope
     public ItemReader<TradableUs> priceItemReader() {
-        return new ListItemReader<>(List.of(TradableUs.IREN, TradableUs.BITF, TradableUs.CLSK));
+        // batch 모드는 Quartz 주기(ingest.interval-ms)마다 전 종목 — 종목별 주기/위상 분산은 engine 모드에서
+        return new ListItemReader<>(watchlist.assets());
     }
 
     @Bean
     public ItemProcessor<TradableUs, TickItem> priceItemProcessor() {
         return asset -> {
+            var coordinator = shard.getIfAvailable();
+            if (coordinator != null && !coordinator.owns(asset.ticker())) {
+                return null; // 다른 노드 소유 종목 — 그 노드의 복제 피드로 캐시에 들어옴
+            }
+            var stream = tickStream.getIfAvailable();
+            if (stream != null && stream.isLive(asset)) {
+                return null; // 스트림이 살아 있는 종목은 폴링 생략(null = 필터)
+            }
+            if (!pollPolicy.shouldPoll(asset)) {
+                return null; // 장 닫힘, 시간외 느린 주기, 무변화 백오프
+            }
             var s = kis.getLastTick(asset);
-            var now = Instant.now();
+            pollPolicy.observe(asset, s.marketTs());
+            var now = Instant.now(clock);
             return new TickItem(asset, s.last(), s.marketTs(), now, PriceSource.PRICE_LAST);
         };
     }
 
     @Bean
-    public AsyncItemProcessor<TradableUs, TickItem> asyncProcessor(ItemProcessor<TradableUs, TickItem> delegate,
-                                                                   TaskExecutor priceIngestExecutor) {
+    @ConditionalOnProperty(prefix = "ingest.dedup", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TickChangeFilter tickChangeFilter(MeterRegistry meters) {
+        return new TickChangeFilter(cache, meters);
+    }
+
+    /** 조회 → 변화 없는 틱 필터. engine/batch 모두 이 체인을 거쳐 writer 로 */
+    @Bean
+    public ItemProcessor<TradableUs, TickItem> priceIngestProcessor(
+            @Qualifier("priceItemProcessor") ItemProcessor<TradableUs, TickItem> priceItemProcessor,
+            ObjectProvider<TickChangeFilter> changeFilter) throws Exception {
+        TickChangeFilter filter = changeFilter.getIfAvailable();
+        if (filter == null) return priceItemProcessor;
+        CompositeItemProcessor<TradableUs, TickItem> chain = new CompositeItemProcessor<>();
+        chain.setDelegates(List.of(priceItemProcessor, filter)); // 앞 단계가 null 이면 뒤는 건너뜀
+        chain.afterPropertiesSet();
+        return chain;
+    }
+
+    @Bean
+    public AsyncItemProcessor<TradableUs, TickItem> asyncProcessor(
+            @Qualifier("priceIngestProcessor") ItemProcessor<TradableUs, TickItem> delegate,
+            TaskExecutor priceIngestExecutor) {
         AsyncItemProcessor<TradableUs, TickItem> p = new AsyncItemProcessor<>();
         p.setDelegate(delegate);
         p.setTaskExecutor(priceIngestExecutor);
@@ -73,26 +147,45 @@ public class PriceIngestJobConfig {
     }
 
     @Bean
-    public ItemWriter<TickItem> priceItemWriter() {
+    public ItemWriter<TickItem> priceItemWriter(IngestProps ingestProps, MeterRegistry meters) {
+        boolean persist = ingestProps.store().persist(); // false: 캐시/이벤트까지만 (리플레이)
+        IngestProps.Dedup dedup = ingestProps.dedup();
+        PersistDeadband deadband = dedup.enabled() && dedup.deadbandBps() > 0 ? new PersistDeadband(dedup, meters) : null;
+        // 히스토그램(분위수)은 종목 태그 없이, 종목별은 count/sum/max 만 — 미터는 한 번 등록해 두고 재사용
+        Timer write = Timer.builder("price.ingest.write")
+                .description("틱 적재(버퍼/봉/캐시/리스너) 소요")
+                .register(meters);
+        Map<PriceSource, DistributionSummary> lag = new ConcurrentHashMap<>();
+        Map<String, WriterMeters> byTicker = new ConcurrentHashMap<>();
         return items -> {
             for (var it : items) {
-                switch (it.asset()) {
-                    case IREN -> {
-                        var e = new IrenPriceTick(it.asset().exchange(), it.last(), it.marketTs(), it.ingestedAt(), it.source());
-                        irenRepo.save(e);
-                        cache.put(it.asset().ticker(), e);
-                    }
-                    case BITF -> {
-                        var e = new BitfPriceTick(it.asset().exchange(), it.last(), it.marketTs(), it.ingestedAt(), it.source());
-                        bitfRepo.save(e);
-                        cache.put(it.asset().ticker(), e);
-                    }
-                    case CLSK -> {
-                        var e = new ClskPriceTick(it.asset().exchange(), it.last(), it.marketTs(), it.ingestedAt(), it.source());
-                        clskRepo.save(e);
-                        cache.put(it.asset().ticker(), e);
-                    }
+                long start = System.nanoTime();
+                TickSymbol symbol = symbols.intern(it.asset().ticker(), it.asset().exchange());
+                var tradingDay = it.marketTs().atZone(KisQuoteService.zoneOf(symbol.getExchange())).toLocalDate();
+                var e = new SymbolTick(symbol, tradingDay, it.last(), it.marketTs(), it.ingestedAt(), it.source());
+                // 저장/아카이브만 솎아냄 — 봉(고가/저가)과 캐시·리스너는 모든 틱을 받는다
+                if (deadband == null || deadband.shouldPersist(symbol.getTicker(), it.last(), it.marketTs())) {
+                    if (persist && archiveProps.mode() != ArchiveProps.Mode.ONLY) tickWriter.add(e);
+                    archive.ifAvailable(a -> a.append(symbol.getTicker(), tradingDay, it.last(), it.marketTs(), it.ingestedAt()));
                 }
+                if (persist) bars.onTick(symbol.getId(), it.marketTs(), it.last());
+                cache.put(symbol.getTicker(), e);
+
+                // 적재 소요, 시장시각→수집 지연 — 전체(히스토그램) + 종목별
+                long took = System.nanoTime() - start;
+                write.record(took, TimeUnit.NANOSECONDS);
+                lag.computeIfAbsent(it.source(), src -> DistributionSummary.builder("price.ingest.lag")
+                        .baseUnit("milliseconds")
+                        .tag("source", src.name())
+                        .register(meters)).record(e.getLatencyMs());
+                WriterMeters m = byTicker.computeIfAbsent(symbol.getTicker(), t -> new WriterMeters(
+                        Timer.builder("price.ingest.ticker.write").tag("ticker", t).register(meters),
+                        DistributionSummary.builder("price.ingest.ticker.lag")
+                                .baseUnit("milliseconds")
+                                .tag("ticker", t)
+                                .register(meters)));
+                m.write().record(took, TimeUnit.NANOSECONDS);
+                m.lag().record(e.getLatencyMs());
             }
         };
     }
@@ -114,7 +207,7 @@ public class PriceIngestJobConfig {
 
         // AsyncItemProcessor 는 Future<TickItem>을 배출하므로, Step 제네릭을 Future로 맞춰야 함
         return new StepBuilder("priceIngestStep", repo)
-                .<TradableUs, Future<TickItem>>chunk(3, tx) // 3종 동시
+                .<TradableUs, Future<TickItem>>chunk(CHUNK_SIZE, tx) // 청크 단위로 동시 조회
                 .reader(priceItemReader)
                 .processor(asyncProcessor)
                 .writer(asyncWriter)
@@ -128,6 +221,9 @@ public class PriceIngestJobConfig {
                 .build();
     }
 
+    /** 종목별 writer 미터 (히스토그램 없음) */
+    private record WriterMeters(Timer write, DistributionSummary lag) {}
+
     /* ===== DTO ===== */
     public record TickItem(TradableUs asset,
                            java.math.BigDecimal last,
@@ -3,19 +3,25 @@ package com.stock.autostock.config;
 import com.stock.autostock.service.PriceIngestBatchRunner;
 import lombok.RequiredArgsConstructor;
 import org.quartz.SimpleTrigger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.quartz.MethodInvokingJobDetailFactoryBean;
-import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.scheduling.quartz.SimpleTriggerFactoryBean;
 
 import java.util.Objects;
 
+/**
+ * ingest.mode=batch 일 때만 — 매 초 새 JobInstance 로 priceIngestJob 을 기동하는 기존 경로.
+ * 스케줄러는 Boot 자동설정(다른 Trigger/JobDetail 빈과 함께 등록)
+ */
 @Configuration
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "ingest", name = "mode", havingValue = "batch")
 public class QuartzBatchLauncherConfig {
 
     private final PriceIngestBatchRunner batchRunner;
+    private final IngestProps ingestProps;
 
     @Bean
     public MethodInvokingJobDetailFactoryBean priceIngestJobDetail() {
@@ -31,19 +37,10 @@ public class QuartzBatchLauncherConfig {
     public SimpleTriggerFactoryBean priceIngestTrigger(MethodInvokingJobDetailFactoryBean priceIngestJobDetail) {
         var t = new SimpleTriggerFactoryBean();
         t.setJobDetail(Objects.requireNonNull(priceIngestJobDetail.getObject()));
-        t.setRepeatInterval(1000L);
+        t.setRepeatInterval(ingestProps.intervalMs());
         t.setRepeatCount(SimpleTrigger.REPEAT_INDEFINITELY);
         t.setStartDelay(0L);
         t.setName("priceIngestTrigger");
         return t;
     }
-
-    @Bean
-    public SchedulerFactoryBean schedulerFactoryBean(SimpleTriggerFactoryBean priceIngestTrigger,
-                                                     MethodInvokingJobDetailFactoryBean priceIngestJobDetail) {
-        var f = new SchedulerFactoryBean();
-        f.setJobDetails(priceIngestJobDetail.getObject());
-        f.setTriggers(priceIngestTrigger.getObject());
-        return f;
-    }
 }
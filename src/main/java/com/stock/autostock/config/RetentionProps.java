@@ -0,0 +1,23 @@
+package com.stock.autostock.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 원시 틱 보관기간 정리 — keepDays 보다 오래된 trading_day 는 롤업(+선택적 압축 보관) 후 삭제
+ */
+@ConfigurationProperties(prefix = "retention")
+public record RetentionProps(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0 30 7 * * ?") String cron,       // 미국장 마감 후 (Asia/Seoul 기준)
+        @DefaultValue("Asia/Seoul") String zone,
+        @DefaultValue("7") int keepDays,                  // 원시 틱, 1s 봉 보관 일수
+        @DefaultValue("5000") int deleteChunk,            // 삭제 1회(=1 트랜잭션) 행 수 — writer 와의 락 경합을 짧게
+        @DefaultValue Archive archive
+) {
+    /** 삭제 전 원시 틱을 일자별 gzip CSV 로 남김 */
+    public record Archive(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("./archive") String dir
+    ) {}
+}
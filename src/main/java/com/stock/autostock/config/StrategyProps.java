@@ -0,0 +1,22 @@
+package com.stock.autostock.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "strategy")
+public record StrategyProps(
+        @DefaultValue("false") boolean enabled,     // 실주문이 나가므로 기본 꺼짐
+        @DefaultValue("256") int queueCapacity,     // 주문 디스패치 큐 — 가득 차면 새 신호는 버림
+        @DefaultValue("60000") long cooldownMs,     // 같은 종목/같은 규칙 재발동 최소 간격
+        @DefaultValue List<Threshold> thresholds,
+        @DefaultValue List<MaCross> maCrosses
+) {
+    /** last <= buyBelow 면 매수, last >= sellAbove 면 매도 (지정가 = last) */
+    public record Threshold(String ticker, BigDecimal buyBelow, BigDecimal sellAbove, int quantity) {}
+
+    /** 단기 SMA 가 장기 SMA 를 상향 돌파하면 매수, 하향 돌파하면 매도 (창 = 틱 개수, indicator.windows 에 있어야 함) */
+    public record MaCross(String ticker, int shortWindow, int longWindow, int quantity) {}
+}
@@ -0,0 +1,100 @@
+package com.stock.autostock.config;
+
+import com.stock.autostock.service.BarAggregator;
+import com.stock.autostock.service.ChunkedDeleteTasklet;
+import com.stock.autostock.service.TickCompactionTasklet;
+import com.stock.autostock.service.TickRetentionRunner;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.quartz.CronTriggerFactoryBean;
+import org.springframework.scheduling.quartz.MethodInvokingJobDetailFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.TimeZone;
+
+/**
+ * 원시 틱 보관기간 정리 Job — 롤업/보관 → tick 청크 삭제 → 1s 봉 청크 삭제.
+ * Quartz cron 으로 하루 1회. 스케줄러는 Boot 자동설정이 Trigger/JobDetail 빈을 모두 등록한다.
+ */
+@Configuration
+@EnableConfigurationProperties(RetentionProps.class)
+@ConditionalOnProperty(prefix = "retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TickRetentionJobConfig {
+
+    @Bean
+    @StepScope
+    public TickCompactionTasklet tickCompactionTasklet(JdbcTemplate jdbc, BarAggregator bars, RetentionProps props,
+                                                       @Value("#{jobParameters['cutoff']}") LocalDate cutoff) {
+        return new TickCompactionTasklet(jdbc, bars, props.archive(), cutoff);
+    }
+
+    @Bean
+    @StepScope
+    public ChunkedDeleteTasklet tickPurgeTasklet(JdbcTemplate jdbc, RetentionProps props,
+                                                 @Value("#{jobParameters['cutoff']}") LocalDate cutoff) {
+        return new ChunkedDeleteTasklet(jdbc,
+                "DELETE FROM tick WHERE trading_day < ? FETCH FIRST ? ROWS ONLY",
+                props.deleteChunk(), Date.valueOf(cutoff));
+    }
+
+    @Bean
+    @StepScope
+    public ChunkedDeleteTasklet secondBarPurgeTasklet(JdbcTemplate jdbc, RetentionProps props,
+                                                      @Value("#{jobParameters['cutoff']}") LocalDate cutoff) {
+        // 1s 봉은 원시 틱과 같은 기간만 보관 (1m 이상은 유지) — cutoff 일자는 러너와 같은 retention.zone 기준
+        return new ChunkedDeleteTasklet(jdbc,
+                "DELETE FROM tick_bar WHERE res_sec = 1 AND bar_start < ? FETCH FIRST ? ROWS ONLY",
+                props.deleteChunk(), Timestamp.from(cutoff.atStartOfDay(ZoneId.of(props.zone())).toInstant()));
+    }
+
+    @Bean
+    public Job tickRetentionJob(JobRepository repo, PlatformTransactionManager tx,
+                                TickCompactionTasklet tickCompactionTasklet,
+                                ChunkedDeleteTasklet tickPurgeTasklet,
+                                ChunkedDeleteTasklet secondBarPurgeTasklet) {
+        Step compact = new StepBuilder("tickCompactStep", repo).tasklet(tickCompactionTasklet, tx).build();
+        Step purgeTicks = new StepBuilder("tickPurgeStep", repo).tasklet(tickPurgeTasklet, tx).build();
+        Step purgeBars = new StepBuilder("secondBarPurgeStep", repo).tasklet(secondBarPurgeTasklet, tx).build();
+        return new JobBuilder("tickRetentionJob", repo)
+                .start(compact)
+                .next(purgeTicks)
+                .next(purgeBars)
+                .build();
+    }
+
+    @Bean
+    public MethodInvokingJobDetailFactoryBean tickRetentionJobDetail(TickRetentionRunner runner) {
+        var f = new MethodInvokingJobDetailFactoryBean();
+        f.setTargetObject(runner);
+        f.setTargetMethod("run");
+        f.setName("tickRetentionInvoker");
+        f.setConcurrent(false);
+        return f;
+    }
+
+    @Bean
+    public CronTriggerFactoryBean tickRetentionTrigger(MethodInvokingJobDetailFactoryBean tickRetentionJobDetail,
+                                                       RetentionProps props) {
+        var t = new CronTriggerFactoryBean();
+        t.setJobDetail(Objects.requireNonNull(tickRetentionJobDetail.getObject()));
+        t.setCronExpression(props.cron());
+        t.setTimeZone(TimeZone.getTimeZone(props.zone()));
+        t.setName("tickRetentionTrigger");
+        return t;
+    }
+}
@@ -0,0 +1,37 @@
+package com.stock.autostock.controller;
+
+import com.stock.autostock.service.BarHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+/**
+ * 봉 조회 — 구간 길이에 맞춰 1s/1m/5m/1h 중 하나를 자동 선택
+ */
+@RestController
+@RequestMapping("/api/bars")
+@RequiredArgsConstructor
+public class BarController {
+
+    private final BarHistoryService history;
+
+    @GetMapping("/{ticker}")
+    public BarHistoryService.History bars(@PathVariable String ticker,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                          @RequestParam(defaultValue = "1000") int maxPoints) {
+        try {
+            return history.history(ticker, from, to, maxPoints);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()); // 잘못된 구간 — 500 이 아니라 400
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.stock.autostock.controller;
+
+import com.stock.autostock.indicator.IndicatorService;
+import com.stock.autostock.indicator.SymbolIndicators;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 롤링 지표 조회 — 미리 갱신된 값을 그대로 반환 (요청 시 재계산 없음)
+ */
+@RestController
+@RequestMapping("/api/indicators")
+@RequiredArgsConstructor
+public class IndicatorController {
+
+    private final IndicatorService indicators;
+
+    @GetMapping("/{ticker}")
+    public ResponseEntity<IndicatorView> get(@PathVariable String ticker) {
+        return indicators.get(ticker)
+                .map(s -> ResponseEntity.ok(new IndicatorView(s.ticker(), s.marketTs(), s.values())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    public record IndicatorView(String ticker, Instant marketTs, List<SymbolIndicators.Values> windows) {}
+}
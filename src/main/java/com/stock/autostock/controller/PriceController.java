@@ -0,0 +1,64 @@
+package com.stock.autostock.controller;
+
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolPriceCache.Snapshot;
+import com.stock.autostock.service.PriceStreamBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 메모리 캐시 시세 조회 — DB/브로커를 거치지 않음.
+ * ETag = 티커 + marketTs 이므로 값이 안 바뀐 폴링은 본문 없이 304.
+ */
+@RestController
+@RequestMapping("/api/prices")
+@RequiredArgsConstructor
+public class PriceController {
+
+    private final SymbolPriceCache cache;
+    private final PriceStreamBroadcaster broadcaster;
+
+    /** 최신값 (신선도 만료 시 404) */
+    @GetMapping("/{ticker}")
+    public ResponseEntity<Snapshot> current(@PathVariable String ticker, WebRequest request) {
+        return conditional(cache.currentFresh(ticker), request);
+    }
+
+    /** ts 이전(<=) 가장 최근 값 */
+    @GetMapping("/{ticker}/at")
+    public ResponseEntity<Snapshot> atOrBefore(@PathVariable String ticker,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant ts,
+                                               WebRequest request) {
+        return conditional(cache.atOrBefore(ticker, ts), request);
+    }
+
+    /** 최신값 갱신 SSE — 스냅샷마다 event: price */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return broadcaster.subscribe();
+    }
+
+    private static ResponseEntity<Snapshot> conditional(Optional<Snapshot> found, WebRequest request) {
+        if (found.isEmpty()) return ResponseEntity.notFound().build();
+        Snapshot s = found.get();
+        String etag = "\"" + s.ticker() + "-" + s.marketTs().getEpochSecond() + "." + s.marketTs().getNano() + "\"";
+        if (request.checkNotModified(etag)) return null; // 304, 본문 직렬화 생략
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(s);
+    }
+}
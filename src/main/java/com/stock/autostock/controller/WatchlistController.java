@@ -0,0 +1,51 @@
+package com.stock.autostock.controller;
+
+import com.stock.autostock.watchlist.WatchlistEntry;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * 관심종목 관리 — 추가/삭제/주기·우선순위 변경이 재기동 없이 수집 스케줄과 실시간 구독에 반영된다
+ */
+@RestController
+@RequestMapping("/api/watchlist")
+@RequiredArgsConstructor
+public class WatchlistController {
+
+    private final WatchlistRegistry registry;
+
+    @GetMapping
+    public List<WatchlistEntry> list() {
+        return registry.entries();
+    }
+
+    /** 추가 또는 변경 — 본문에서 빠진 필드는 기존 값 유지 */
+    @PutMapping("/{ticker}")
+    public WatchlistEntry upsert(@PathVariable String ticker, @RequestBody(required = false) Change change) {
+        Change c = change != null ? change : new Change(null, null, null);
+        try {
+            return registry.upsert(ticker, c.exchange(), c.intervalMs(), c.priority());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{ticker}")
+    public ResponseEntity<Void> remove(@PathVariable String ticker) {
+        return registry.remove(ticker) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    public record Change(String exchange, Long intervalMs, Integer priority) {}
+}
@@ -0,0 +1,32 @@
+package com.stock.autostock.domain;
+
+import java.time.Instant;
+
+/**
+ * 봉 단위. 경계는 epoch 초 기준 내림 — 1h 봉도 UTC 정시 경계 (미국 정규장 09:30 시작과 무관하게 일정)
+ */
+public enum BarResolution {
+    S1(1), M1(60), M5(300), H1(3600);
+
+    private final int seconds;
+
+    BarResolution(int seconds) {
+        this.seconds = seconds;
+    }
+
+    public int seconds() {
+        return seconds;
+    }
+
+    /** marketTs 가 속한 봉의 시작(epoch 초) */
+    public long startOf(Instant marketTs) {
+        return Math.floorDiv(marketTs.getEpochSecond(), seconds) * seconds;
+    }
+
+    public static BarResolution ofSeconds(int seconds) {
+        for (BarResolution r : values()) {
+            if (r.seconds == seconds) return r;
+        }
+        throw new IllegalArgumentException("unknown bar resolution: " + seconds + "s");
+    }
+}
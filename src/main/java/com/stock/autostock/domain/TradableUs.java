@@ -1,17 +1,28 @@
 package com.stock.autostock.domain;
 
-import lombok.RequiredArgsConstructor;
+import java.util.List;
 
-@RequiredArgsConstructor
-public enum TradableUs {
-    IREN("IREN", "NASD"),
-    BITF("BITF", "NASD"),
-    CLSK("CLSK", "NASD");
+/**
+ * 미국 주식 종목 — 티커 + 거래소. 수집 대상 목록은 WatchlistRegistry 가 런타임에 관리하고,
+ * 아래 상수는 초기 관심종목(및 기존 종목별 tick 테이블 이관 대상)이다.
+ */
+public record TradableUs(
+        String ticker,   // PDNO에 들어갈 값
+        String exchange  // OVRS_EXCG_CD에 들어갈 값
+) {
+    public static final TradableUs IREN = new TradableUs("IREN", "NASD");
+    public static final TradableUs BITF = new TradableUs("BITF", "NASD");
+    public static final TradableUs CLSK = new TradableUs("CLSK", "NASD");
 
-    private final String ticker;   // PDNO에 들어갈 값
-    private final String exchange; // OVRS_EXCG_CD에 들어갈 값
+    public static final List<TradableUs> DEFAULTS = List.of(IREN, BITF, CLSK);
 
-    public String ticker()   { return ticker; }
-    public String exchange() { return exchange; }
-}
+    public TradableUs {
+        if (ticker == null || ticker.isBlank()) throw new IllegalArgumentException("ticker is blank");
+        if (exchange == null || exchange.isBlank()) throw new IllegalArgumentException("exchange is blank");
+    }
 
+    @Override
+    public String toString() {
+        return ticker; // 로그/이벤트 출력은 기존 enum 과 같게
+    }
+}
@@ -42,5 +42,5 @@ public abstract class BaseSymbolTick {
     @Transient
     public abstract String ticker();
 
-    public enum PriceSource { PRICE_LAST, TICK_STREAM }
+    public enum PriceSource { PRICE_LAST, TICK_STREAM, REPLICATED }
 }
@@ -1,7 +0,0 @@
-package com.stock.autostock.entity;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-
-public interface ClskTickRepository extends JpaRepository<ClskPriceTick, Long> {
-
-}
\ No newline at end of file
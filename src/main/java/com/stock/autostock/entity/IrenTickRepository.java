@@ -1,7 +0,0 @@
-package com.stock.autostock.entity;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-
-public interface IrenTickRepository extends JpaRepository<IrenPriceTick, Long> {
-
-}
\ No newline at end of file
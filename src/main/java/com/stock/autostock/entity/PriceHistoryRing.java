@@ -0,0 +1,132 @@
+package com.stock.autostock.entity;
+
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 티커 1개의 고정 용량 히스토리 링버퍼 — 가격은 1e-8 단위 long, 시각은 epoch-nanos long (원시 배열, 박싱 없음).
+ * <p>
+ * 단일 writer / 다중 reader seqlock: writer 는 version 을 홀수로 올리고 슬롯을 쓴 뒤 짝수로 되돌린다.
+ * reader 는 락 없이 읽고 version 이 그대로인지만 확인해 바뀌었으면 다시 읽는다 → reader 가 writer 를 막지 않는다.
+ * marketTs 는 단조 증가로만 적재되므로 atOrBefore 는 이진 탐색(O(log n)).
+ */
+public final class PriceHistoryRing {
+
+    public static final int PRICE_SCALE = 8;
+
+    private final String exchange;
+    private final int cap;
+    private final long[] prices;        // last * 10^8
+    private final long[] marketNanos;   // epoch-nanos
+    private final long[] ingestedNanos; // epoch-nanos
+    private final long[] latencyMs;
+
+    private final AtomicLong version = new AtomicLong(); // 홀수 = 쓰는 중
+    private long head;                                    // 누적 적재 건수 (version 으로 보호)
+
+    public PriceHistoryRing(String exchange, int cap) {
+        this.exchange = exchange;
+        this.cap = cap;
+        this.prices = new long[cap];
+        this.marketNanos = new long[cap];
+        this.ingestedNanos = new long[cap];
+        this.latencyMs = new long[cap];
+    }
+
+    public static long toScaled(BigDecimal price) {
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromScaled(long scaled) {
+        return BigDecimal.valueOf(scaled, PRICE_SCALE);
+    }
+
+    public static long toNanos(Instant t) {
+        return t.getEpochSecond() * 1_000_000_000L + t.getNano();
+    }
+
+    public static Instant fromNanos(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+    }
+
+    /**
+     * 적재(할당 없음). 직전보다 과거 marketTs 는 무시(역전 방지)하고 false 반환.
+     * writer 가 둘 이상일 수 있는 경우를 위해 writer 끼리만 직렬화 — reader 는 이 모니터를 잡지 않는다.
+     */
+    public synchronized boolean append(long price, long marketNs, long ingestedNs, long latency) {
+        long h = head;
+        if (h > 0 && marketNs < marketNanos[(int) ((h - 1) % cap)]) {
+            return false;
+        }
+        long v = version.get();
+        version.setOpaque(v + 1);
+        VarHandle.storeStoreFence(); // 슬롯 쓰기가 '쓰는 중' 표시보다 먼저 보이지 않게
+
+        int i = (int) (h % cap);
+        prices[i] = price;
+        marketNanos[i] = marketNs;
+        ingestedNanos[i] = ingestedNs;
+        latencyMs[i] = latency;
+        head = h + 1;
+
+        version.setRelease(v + 2);
+        return true;
+    }
+
+    /** target 이하(<=) 중 가장 최근 항목. 없으면 null */
+    public SymbolPriceCache.Snapshot atOrBefore(String ticker, long targetNanos) {
+        for (;;) {
+            long v1 = version.getAcquire();
+            if ((v1 & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            long h = head;
+            long lo = Math.max(0, h - cap);
+            long hi = h - 1;
+            long found = -1;
+            while (lo <= hi) {
+                long mid = (lo + hi) >>> 1;
+                if (marketNanos[(int) (mid % cap)] <= targetNanos) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+
+            long price = 0, market = 0, ingested = 0, latency = 0;
+            if (found >= 0) {
+                int i = (int) (found % cap);
+                price = prices[i];
+                market = marketNanos[i];
+                ingested = ingestedNanos[i];
+                latency = latencyMs[i];
+            }
+
+            VarHandle.loadLoadFence(); // 위의 일반 읽기가 version 재확인 뒤로 밀리지 않게
+            if (version.get() != v1) continue; // 읽는 도중 writer 가 덮어씀 → 재시도
+
+            if (found < 0) return null;
+            return new SymbolPriceCache.Snapshot(ticker, exchange,
+                    fromScaled(price), fromNanos(market), fromNanos(ingested), latency);
+        }
+    }
+
+    /** 현재 보관 중인 건수 */
+    public int size() {
+        for (;;) {
+            long v1 = version.getAcquire();
+            long h = head;
+            VarHandle.loadLoadFence();
+            if ((v1 & 1) == 0 && version.get() == v1) {
+                return (int) Math.min(h, cap);
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
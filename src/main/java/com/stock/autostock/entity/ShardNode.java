@@ -0,0 +1,25 @@
+package com.stock.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 수집 노드 리스 — 하트비트마다 lease_until 을 연장(JDBC MERGE), 만료된 행은 아무 노드나 정리
+ */
+@Entity
+@Table(name = "shard_node")
+@Getter
+@NoArgsConstructor
+public class ShardNode {
+
+    @Id
+    @Column(name = "node_id", length = 64)
+    private String nodeId;
+    @Column(length = 255)
+    private String endpoint;
+    @Column(name = "lease_until", nullable = false)
+    private Instant leaseUntil;
+}
@@ -0,0 +1,25 @@
+package com.stock.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 종목별 수집 소유권 리스 — 만료됐거나 자기 것일 때만 조건부 UPDATE 로 가져간다 (시각은 DB 시계)
+ */
+@Entity
+@Table(name = "shard_symbol_lease")
+@Getter
+@NoArgsConstructor
+public class ShardSymbolLease {
+
+    @Id
+    @Column(length = 16)
+    private String ticker;
+    @Column(length = 64, nullable = false)
+    private String owner;
+    @Column(name = "lease_until", nullable = false)
+    private Instant leaseUntil;
+}
@@ -3,19 +3,22 @@ package com.stock.autostock.entity;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+@Slf4j
 public class SymbolPriceCache {
 
     private final Cache<String, Snapshot> latest;          // 티커별 최신 1건 (시장시각 기준)
-    private final Cache<String, Deque<Snapshot>> history;  // 티커별 최근 N개 히스토리
+    private final Cache<String, PriceHistoryRing> history; // 티커별 최근 N개 히스토리 (원시값 링버퍼)
     private final int histCap;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
     /**
      * @param staleness 최신 스냅샷의 신선도(예: 5초). 초과 시 latest에서 자동 만료
      * @param histCap   히스토리 최대 보관 개수(예: 600 = 10분치 @1s)
@@ -28,7 +31,7 @@ public class SymbolPriceCache {
                 .expireAfterWrite(staleness)
                 .initialCapacity(16)
                 .maximumSize(1024)          // 티커 수가 적으니 충분
-                .recordStats()              // 원하면 메트릭 확인 가능
+                .recordStats()              // PriceCacheConfig 에서 cache.gets/evictions 로 노출
                 .build();
 
         // 히스토리: 접근 없으면 장시간 지나 자동 청소 (예: staleness의 몇 배)
@@ -36,6 +39,7 @@ public class SymbolPriceCache {
                 .expireAfterAccess(staleness.multipliedBy(12)) // 1분 정도
                 .initialCapacity(16)
                 .maximumSize(1024)          // 티커 수 만큼만 키가 생김
+                .recordStats()
                 .build();
     }
 
@@ -57,7 +61,7 @@ public class SymbolPriceCache {
         Snapshot incoming = toSnapshot(ticker, t);
 
         // 최신값 병합 (원자적)
-        latest.asMap().compute(ticker, (k, prev) -> {
+        Snapshot merged = latest.asMap().compute(ticker, (k, prev) -> {
             if (prev == null) return incoming;
             int cmp = incoming.marketTs().compareTo(prev.marketTs());
             if (cmp > 0) return incoming;
@@ -65,20 +69,35 @@ public class SymbolPriceCache {
             return incoming.ingestedAt().isAfter(prev.ingestedAt()) ? incoming : prev;
         });
 
-        // 히스토리 덱 (티커별) — 캐시에 없으면 생성
-        Deque<Snapshot> dq = history.get(ticker, k -> new ArrayDeque<>(histCap));
-        // ArrayDeque는 동시성 컬렉션이 아니라서 덱 자체 수정은 동기화
-        synchronized (dq) {
-            // 역전 방지(더 과거 것이 뒤에 들어오면 무시)
-            Snapshot tail = dq.peekLast();
-            if (tail != null && incoming.marketTs().isBefore(tail.marketTs())) {
-                return;
+        // 히스토리 링 (티커별) — 최초 1회만 생성, 이후 적재는 원시값 복사뿐(할당 없음)
+        PriceHistoryRing ring = history.getIfPresent(ticker);
+        if (ring == null) {
+            ring = history.get(ticker, k -> new PriceHistoryRing(t.getExchange(), histCap));
+        }
+        // 역전 방지(더 과거 것이 뒤에 들어오면 무시)는 링이 처리
+        ring.append(
+                PriceHistoryRing.toScaled(t.getLast()),
+                PriceHistoryRing.toNanos(t.getMarketTs()),
+                PriceHistoryRing.toNanos(t.getIngestedAt()),
+                t.getLatencyMs());
+
+        // 최신값이 실제로 바뀐 경우에만 통지 (put 스레드에서 호출되므로 리스너는 가볍게)
+        if (merged == incoming) {
+            for (Listener l : listeners) {
+                try {
+                    l.onUpdate(incoming);
+                } catch (RuntimeException e) {
+                    log.warn("price listener failed: {}", ticker, e); // 리스너 오류가 수집을 막지 않게
+                }
             }
-            dq.addLast(incoming);
-            if (dq.size() > histCap) dq.removeFirst();
         }
     }
 
+    /** 최신값 갱신 구독 — 리스너는 put 호출 스레드(수집 writer)에서 동기 실행된다 */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
     /**
      * 신선도 자동 관리: 만료되면 null 반환(getIfPresent=lazy eviction)
      */
@@ -87,19 +106,13 @@ public class SymbolPriceCache {
     }
 
     /**
-     * 특정 시각 이전(<=) 가장 최근 스냅샷 — 히스토리에서 즉시 탐색, 없으면 empty
+     * 특정 시각 이전(<=) 가장 최근 스냅샷 — 히스토리에서 O(log n) 탐색, 없으면 empty
      */
     public Optional<Snapshot> atOrBefore(String ticker, Instant target) {
-        Deque<Snapshot> dq = history.getIfPresent(ticker);
-        if (dq == null) return Optional.empty();
-        synchronized (dq) {
-            var it = dq.descendingIterator();
-            while (it.hasNext()) {
-                Snapshot s = it.next();
-                if (!s.marketTs().isAfter(target)) return Optional.of(s);
-            }
-        }
-        return Optional.empty();
+        PriceHistoryRing ring = history.getIfPresent(ticker);
+        if (ring == null) return Optional.empty();
+        // 락 없이 이진 탐색 — writer 를 막지 않음
+        return Optional.ofNullable(ring.atOrBefore(ticker, PriceHistoryRing.toNanos(target)));
     }
 
     /**
@@ -113,6 +126,11 @@ public class SymbolPriceCache {
         return history.stats();
     }
 
+    @FunctionalInterface
+    public interface Listener {
+        void onUpdate(Snapshot latest);
+    }
+
     public record Snapshot(
             String ticker, String exchange,
             BigDecimal last, Instant marketTs,
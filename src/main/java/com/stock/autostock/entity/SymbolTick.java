@@ -0,0 +1,44 @@
+package com.stock.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * 전 종목 공용 틱 — (symbol_id, market_ts) 유일.
+ * trading_day(거래소 현지 날짜)가 인덱스 선두 컬럼이라 일자 단위 범위 조회/보관기간 삭제가 일자 구간만 건드린다.
+ */
+@Entity
+@Table(name = "tick",
+        indexes = {
+                @Index(name = "idx_tick_day_symbol_ts", columnList = "trading_day, symbol_id, market_ts"),
+                @Index(name = "idx_tick_symbol_ts", columnList = "symbol_id, market_ts DESC")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uniq_tick_symbol_market_ts", columnNames = {"symbol_id", "market_ts"}))
+@Getter
+public class SymbolTick extends BaseSymbolTick {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "symbol_id", nullable = false)
+    private TickSymbol symbol;
+    @Column(name = "trading_day", nullable = false)
+    private LocalDate tradingDay;
+
+    public SymbolTick() {
+    }
+
+    public SymbolTick(TickSymbol symbol, LocalDate tradingDay, BigDecimal last, Instant marketTs,
+                      Instant ingestedAt, PriceSource source) {
+        super(symbol.getExchange(), last, marketTs, ingestedAt, source);
+        this.symbol = symbol;
+        this.tradingDay = tradingDay;
+    }
+
+    @Override
+    public String ticker() {
+        return symbol.getTicker();
+    }
+}
@@ -0,0 +1,28 @@
+package com.stock.autostock.entity;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SymbolTickRepository extends JpaRepository<SymbolTick, Long> {
+
+    @Query("select t from SymbolTick t where t.symbol.id = :symbolId " +
+            "and t.marketTs >= :from and t.marketTs < :to order by t.marketTs")
+    List<SymbolTick> findRange(@Param("symbolId") Integer symbolId,
+                               @Param("from") Instant from,
+                               @Param("to") Instant to);
+
+    @Query("select t from SymbolTick t where t.symbol.id = :symbolId " +
+            "and t.tradingDay = :day order by t.marketTs")
+    List<SymbolTick> findDay(@Param("symbolId") Integer symbolId, @Param("day") LocalDate day);
+
+    /** 보관기간 정리 — trading_day 선두 인덱스로 일자 구간 단위 삭제 */
+    @Modifying
+    @Query("delete from SymbolTick t where t.tradingDay < :day")
+    int deleteOlderThan(@Param("day") LocalDate day);
+}
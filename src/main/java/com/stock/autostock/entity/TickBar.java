@@ -0,0 +1,40 @@
+package com.stock.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * 틱 롤업(OHLC) — (symbol_id, res_sec, bar_start) 유일. 기록은 BarAggregator 의 JDBC batch MERGE 로만.
+ * 거래량은 시세 응답에 없으므로 봉 안의 틱 개수(tick_count)를 대신 둔다.
+ */
+@Entity
+@Table(name = "tick_bar",
+        uniqueConstraints = @UniqueConstraint(name = "uniq_tick_bar_symbol_res_start",
+                columnNames = {"symbol_id", "res_sec", "bar_start"}))
+@Getter
+@NoArgsConstructor
+public class TickBar {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "symbol_id", nullable = false)
+    private Integer symbolId;
+    @Column(name = "res_sec", nullable = false)
+    private int resSec;
+    @Column(name = "bar_start", nullable = false)
+    private Instant barStart;
+    @Column(precision = 19, scale = 8, nullable = false)
+    private BigDecimal open;
+    @Column(precision = 19, scale = 8, nullable = false)
+    private BigDecimal high;
+    @Column(precision = 19, scale = 8, nullable = false)
+    private BigDecimal low;
+    @Column(precision = 19, scale = 8, nullable = false)
+    private BigDecimal close;
+    @Column(name = "tick_count", nullable = false)
+    private int tickCount;
+}
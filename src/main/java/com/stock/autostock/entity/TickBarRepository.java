@@ -0,0 +1,24 @@
+package com.stock.autostock.entity;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TickBarRepository extends JpaRepository<TickBar, Long> {
+
+    /** 유일 인덱스 (symbol_id, res_sec, bar_start) 선두 구간 스캔 */
+    @Query("select b from TickBar b where b.symbolId = :symbolId and b.resSec = :resSec " +
+            "and b.barStart >= :from and b.barStart < :to order by b.barStart")
+    List<TickBar> findRange(@Param("symbolId") Integer symbolId,
+                            @Param("resSec") int resSec,
+                            @Param("from") Instant from,
+                            @Param("to") Instant to);
+
+    @Modifying
+    @Query("delete from TickBar b where b.resSec = :resSec and b.barStart < :before")
+    int deleteOlderThan(@Param("resSec") int resSec, @Param("before") Instant before);
+}
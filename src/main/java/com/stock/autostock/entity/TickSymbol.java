@@ -0,0 +1,28 @@
+package com.stock.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 티커 → 작은 정수 id 사전. tick 테이블은 문자열 대신 symbol_id 만 저장한다
+ */
+@Entity
+@Table(name = "tick_symbol",
+        uniqueConstraints = @UniqueConstraint(name = "uniq_tick_symbol_ticker", columnNames = {"ticker"}))
+@Getter
+@NoArgsConstructor
+public class TickSymbol {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    @Column(length = 16, nullable = false)
+    private String ticker;
+    @Column(length = 8, nullable = false)
+    private String exchange;
+
+    public TickSymbol(String ticker, String exchange) {
+        this.ticker = ticker;
+        this.exchange = exchange;
+    }
+}
@@ -0,0 +1,10 @@
+package com.stock.autostock.entity;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TickSymbolRepository extends JpaRepository<TickSymbol, Integer> {
+
+    Optional<TickSymbol> findByTicker(String ticker);
+}
@@ -0,0 +1,36 @@
+package com.stock.autostock.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 런타임 관심종목 — 재배포 없이 /api/watchlist 로 추가/삭제/주기 변경
+ */
+@Entity
+@Table(name = "watch_symbol")
+@Getter
+@NoArgsConstructor
+public class WatchSymbol {
+
+    @Id
+    @Column(length = 16)
+    private String ticker;
+    @Column(length = 8, nullable = false)
+    private String exchange;
+    @Column(name = "interval_ms", nullable = false)
+    private long intervalMs;
+    @Column(nullable = false)
+    private int priority;
+
+    public WatchSymbol(String ticker, String exchange, long intervalMs, int priority) {
+        this.ticker = ticker;
+        update(exchange, intervalMs, priority);
+    }
+
+    public void update(String exchange, long intervalMs, int priority) {
+        this.exchange = exchange;
+        this.intervalMs = intervalMs;
+        this.priority = priority;
+    }
+}
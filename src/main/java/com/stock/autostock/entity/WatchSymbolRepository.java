@@ -2,6 +2,5 @@ package com.stock.autostock.entity;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface BitfTickRepository extends JpaRepository<BitfPriceTick, Long> {
-
+public interface WatchSymbolRepository extends JpaRepository<WatchSymbol, String> {
 }
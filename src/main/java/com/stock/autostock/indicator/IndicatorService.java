@@ -0,0 +1,41 @@
+package com.stock.autostock.indicator;
+
+import com.stock.autostock.config.IndicatorProps;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolPriceCache.Snapshot;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 캐시 최신값 갱신마다 종목별 롤링 지표를 O(1)로 갱신. 읽는 쪽은 재계산 없이 현재값만 가져감
+ */
+@Service
+@EnableConfigurationProperties(IndicatorProps.class)
+public class IndicatorService implements SymbolPriceCache.Listener {
+
+    private final List<Integer> windows;
+    private final ConcurrentHashMap<String, SymbolIndicators> bySymbol = new ConcurrentHashMap<>();
+
+    public IndicatorService(SymbolPriceCache cache, IndicatorProps props) {
+        this.windows = List.copyOf(props.windows());
+        cache.addListener(this); // 전략 엔진보다 먼저 등록되어야 같은 틱의 지표를 봄 (엔진이 이 빈에 의존)
+    }
+
+    @Override
+    public void onUpdate(Snapshot latest) {
+        bySymbol.computeIfAbsent(latest.ticker(), t -> new SymbolIndicators(t, windows))
+                .add(latest.last().doubleValue(), latest.marketTs());
+    }
+
+    public Optional<SymbolIndicators> get(String ticker) {
+        return Optional.ofNullable(bySymbol.get(ticker));
+    }
+
+    public boolean hasWindow(int window) {
+        return windows.contains(window);
+    }
+}
@@ -0,0 +1,86 @@
+package com.stock.autostock.indicator;
+
+/**
+ * 고정 길이(틱 개수) 창 위의 롤링 통계 — 틱당 O(1), 갱신 중 할당 없음.
+ * <ul>
+ *   <li>SMA: 누적합에서 빠지는 값 차감</li>
+ *   <li>EMA: alpha = 2/(n+1), 첫 값으로 시작</li>
+ *   <li>최소/최대: 단조 덱(시퀀스 번호 원형 배열) — 상각 O(1)</li>
+ *   <li>분산: 창 안에서 더하고 빼는 Welford</li>
+ * </ul>
+ * 동기화는 호출 측({@link SymbolIndicators}) 책임.
+ */
+final class RollingWindow {
+
+    private final int n;
+    private final double alpha;
+    private final double[] values;   // seq % n 위치에 값
+
+    private long seq;                // 지금까지 들어온 값 개수
+    private double sum;
+    private double mean;
+    private double m2;               // 편차 제곱합 (Welford)
+    private double ema = Double.NaN;
+
+    // 단조 덱 — 원소는 시퀀스 번호, 값은 values[seq % n]
+    private final long[] minDq;
+    private int minHead, minSize;
+    private final long[] maxDq;
+    private int maxHead, maxSize;
+
+    RollingWindow(int n) {
+        if (n < 1) throw new IllegalArgumentException("window must be >= 1: " + n);
+        this.n = n;
+        this.alpha = 2.0 / (n + 1);
+        this.values = new double[n];
+        this.minDq = new long[n];
+        this.maxDq = new long[n];
+    }
+
+    void add(double x) {
+        long s = seq++;
+        int slot = (int) (s % n);
+
+        if (s < n) {                 // 채우는 중: 일반 Welford
+            int count = (int) s + 1;
+            double d = x - mean;
+            mean += d / count;
+            m2 += d * (x - mean);
+            sum += x;
+        } else {                     // 가득 참: 가장 오래된 값을 빼고 새 값을 더함
+            double old = values[slot];
+            double prevMean = mean;
+            mean = prevMean + (x - old) / n;
+            m2 += (x - old) * (x - mean + old - prevMean);
+            if (m2 < 0) m2 = 0;      // 부동소수 오차로 음수가 되는 것 방지
+            sum += x - old;
+        }
+        values[slot] = x;
+
+        ema = Double.isNaN(ema) ? x : ema + alpha * (x - ema);
+
+        long expired = s - n;        // 이 시퀀스 이하는 창 밖
+        // 최소
+        if (minSize > 0 && minDq[minHead] <= expired) { minHead = (minHead + 1) % n; minSize--; }
+        while (minSize > 0 && values[(int) (minDq[(minHead + minSize - 1) % n] % n)] >= x) minSize--;
+        minDq[(minHead + minSize++) % n] = s;
+        // 최대
+        if (maxSize > 0 && maxDq[maxHead] <= expired) { maxHead = (maxHead + 1) % n; maxSize--; }
+        while (maxSize > 0 && values[(int) (maxDq[(maxHead + maxSize - 1) % n] % n)] <= x) maxSize--;
+        maxDq[(maxHead + maxSize++) % n] = s;
+    }
+
+    int window()      { return n; }
+    int count()       { return (int) Math.min(seq, n); }
+    boolean full()    { return seq >= n; }
+    double sma()      { return seq == 0 ? Double.NaN : sum / count(); }
+    double ema()      { return ema; }
+    double min()      { return minSize == 0 ? Double.NaN : values[(int) (minDq[minHead] % n)]; }
+    double max()      { return maxSize == 0 ? Double.NaN : values[(int) (maxDq[maxHead] % n)]; }
+
+    /** 표본분산 (n-1), 값이 2개 미만이면 NaN */
+    double variance() {
+        int c = count();
+        return c < 2 ? Double.NaN : m2 / (c - 1);
+    }
+}
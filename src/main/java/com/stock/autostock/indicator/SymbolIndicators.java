@@ -0,0 +1,64 @@
+package com.stock.autostock.indicator;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 종목 하나의 창별 지표 묶음. writer 스레드가 갱신, 전략/REST 가 읽음 — 짧은 임계구역으로 충분
+ */
+public final class SymbolIndicators {
+
+    private final String ticker;
+    private final RollingWindow[] windows;
+    private Instant marketTs;
+
+    SymbolIndicators(String ticker, List<Integer> windowSizes) {
+        this.ticker = ticker;
+        this.windows = new RollingWindow[windowSizes.size()];
+        for (int i = 0; i < windows.length; i++) windows[i] = new RollingWindow(windowSizes.get(i));
+    }
+
+    synchronized void add(double price, Instant marketTs) {
+        for (RollingWindow w : windows) w.add(price);
+        this.marketTs = marketTs;
+    }
+
+    /** 창이 아직 다 차지 않았으면 SMA 는 NaN — 전략이 덜 찬 평균으로 판단하지 않게 */
+    public synchronized double sma(int window) {
+        RollingWindow w = find(window);
+        return w != null && w.full() ? w.sma() : Double.NaN;
+    }
+
+    public synchronized double ema(int window) {
+        RollingWindow w = find(window);
+        return w != null && w.full() ? w.ema() : Double.NaN;
+    }
+
+    public synchronized List<Values> values() {
+        List<Values> out = new ArrayList<>(windows.length);
+        for (RollingWindow w : windows) {
+            double var = w.variance();
+            out.add(new Values(w.window(), w.count(), w.sma(), w.ema(),
+                    w.min(), w.max(), var, Math.sqrt(var)));
+        }
+        return out;
+    }
+
+    public synchronized Instant marketTs() {
+        return marketTs;
+    }
+
+    public String ticker() {
+        return ticker;
+    }
+
+    private RollingWindow find(int window) {
+        for (RollingWindow w : windows) if (w.window() == window) return w;
+        return null;
+    }
+
+    public record Values(int window, int count,
+                         double sma, double ema, double min, double max,
+                         double variance, double stddev) {}
+}
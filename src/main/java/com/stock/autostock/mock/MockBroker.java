@@ -0,0 +1,85 @@
+package com.stock.autostock.mock;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 모의 REST 공통 관문 — 지연, 유량 제한(429), 장애(500/401) 주입과 토큰 검증
+ */
+@Component
+@Profile("kis-mock")
+public class MockBroker {
+
+    private static final double Z99 = 2.326; // 표준정규 99분위
+
+    private final MockKisProps props;
+    private final double mu, sigma;           // 로그정규 파라미터
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+
+    // 토큰버킷 — 초당 permitsPerSecond, 버스트 1초분
+    private double permits;
+    private long refilledAt = System.nanoTime();
+
+    public MockBroker(MockKisProps props) {
+        this.props = props;
+        double p50 = Math.max(0.001, props.latency().p50Ms());
+        double p99 = Math.max(p50, props.latency().p99Ms());
+        this.mu = Math.log(p50);
+        this.sigma = Math.log(p99 / p50) / Z99;
+        this.permits = props.permitsPerSecond();
+    }
+
+    /** 토큰 없이 호출 가능한 경로 (tokenP, hashkey, Approval) */
+    public void admit() {
+        delay();
+        throttle();
+        if (chance(props.faults().errorRate())) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "injected error");
+        }
+    }
+
+    /** authorization 헤더 검증 포함 */
+    public void admit(String authorization) {
+        admit();
+        if (authorization == null || !tokens.contains(authorization) || chance(props.faults().unauthorizedRate())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "EGW00123 기간이 만료된 token 입니다.");
+        }
+    }
+
+    /** 새 토큰 발급 — 반환값은 access_token (헤더는 "Bearer " + 값) */
+    public String issueToken() {
+        String value = UUID.randomUUID().toString().replace("-", "");
+        tokens.add("Bearer " + value);
+        return value;
+    }
+
+    private void delay() {
+        double ms = Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+        LockSupport.parkNanos((long) (ms * TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    private synchronized void throttle() {
+        double rate = props.permitsPerSecond();
+        if (rate <= 0) return;
+        long now = System.nanoTime();
+        permits = Math.min(rate, permits + (now - refilledAt) * rate / 1e9);
+        refilledAt = now;
+        if (permits < 1) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "EGW00201 초당 거래건수를 초과하였습니다.");
+        }
+        permits -= 1;
+    }
+
+    private static boolean chance(double rate) {
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
@@ -0,0 +1,27 @@
+package com.stock.autostock.mock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * kis-mock 프로필 — 같은 JVM 에 모의 KIS 서버(REST + 실시간 WebSocket)를 띄워 오프라인으로 수집 경로를 돌린다
+ */
+@Configuration
+@Profile("kis-mock")
+@RequiredArgsConstructor
+@EnableWebSocket
+@EnableConfigurationProperties(MockKisProps.class)
+public class MockKisConfig implements WebSocketConfigurer {
+
+    private final MockKisPushHandler pushHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(pushHandler, "/mock/ws");
+    }
+}
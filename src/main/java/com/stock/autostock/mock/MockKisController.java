@@ -0,0 +1,89 @@
+package com.stock.autostock.mock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 모의 KIS REST — 실제 API 와 같은 경로/응답 필드. 지연/유량 제한/장애 주입은 MockBroker
+ */
+@RestController
+@Profile("kis-mock")
+@RequiredArgsConstructor
+public class MockKisController {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final DateTimeFormatter YMD = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter HMS = DateTimeFormatter.ofPattern("HHmmss");
+
+    private final MockBroker broker;
+    private final MockMarket market;
+    private final MockKisProps props;
+    private final AtomicLong orderNo = new AtomicLong(1_000_000);
+
+    /** 실시간(WebSocket) 접속키 */
+    @PostMapping("/oauth2/Approval")
+    public Map<String, String> approval() {
+        return Map.of("approval_key", UUID.randomUUID().toString());
+    }
+
+    @PostMapping("/oauth2/tokenP")
+    public Map<String, Object> token() {
+        broker.admit();
+        return Map.of(
+                "access_token", broker.issueToken(),
+                "token_type", "Bearer",
+                "expires_in", props.tokenTtlSec());
+    }
+
+    @PostMapping("/uapi/hashkey")
+    public Map<String, Object> hashkey(@RequestBody String body) throws NoSuchAlgorithmException {
+        broker.admit();
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+        return Map.of("BODY", body, "HASH", HexFormat.of().formatHex(digest));
+    }
+
+    /** 해외주식 현재가 — 호출마다 랜덤워크 한 걸음, 시각은 뉴욕 현지 현재 */
+    @GetMapping("/uapi/overseas-price/v1/quotations/price")
+    public Map<String, Object> price(@RequestHeader(name = "authorization", required = false) String auth,
+                                     @RequestParam("EXCD") String exchange,
+                                     @RequestParam("SYMB") String symbol) {
+        broker.admit(auth);
+        ZonedDateTime now = ZonedDateTime.now(NEW_YORK);
+        return Map.of(
+                "rt_cd", "0", "msg_cd", "MCA00000", "msg1", "정상처리 되었습니다.",
+                "output", Map.of(
+                        "rsym", "D" + exchange.substring(0, 3) + symbol,
+                        "last", market.next(symbol).toPlainString(),
+                        "xymd", YMD.format(now),
+                        "hms", HMS.format(now)));
+    }
+
+    /** 해외주식 주문 — 항상 접수 성공 */
+    @PostMapping("/uapi/overseas-stock/v1/trading/order")
+    public Map<String, Object> order(@RequestHeader(name = "authorization", required = false) String auth,
+                                     @RequestBody Map<String, Object> body) {
+        broker.admit(auth);
+        String odno = String.format("%010d", orderNo.incrementAndGet());
+        return Map.of(
+                "rt_cd", "0", "msg_cd", "APBK0013", "msg1", "주문 전송 완료 되었습니다.",
+                "output", Map.of("ODNO", odno, "ord_no", odno,
+                        "ORD_TMD", HMS.format(ZonedDateTime.now(NEW_YORK))));
+    }
+}
@@ -0,0 +1,25 @@
+package com.stock.autostock.mock;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "mock.kis")
+public record MockKisProps(
+        @DefaultValue("200") long pushIntervalMs,     // 구독 종목별 체결 push 주기
+        @DefaultValue Latency latency,
+        @DefaultValue Faults faults,
+        @DefaultValue("20") double permitsPerSecond,  // 초당 REST 허용 건수 (실서버 유량 제한 흉내), 0 이하 = 무제한
+        @DefaultValue("86400") long tokenTtlSec
+) {
+    /** 응답 지연 — 로그정규 분포, 중앙값/99분위로 지정 */
+    public record Latency(
+            @DefaultValue("20") double p50Ms,
+            @DefaultValue("120") double p99Ms
+    ) {}
+
+    /** 장애 주입 비율 (0~1) */
+    public record Faults(
+            @DefaultValue("0") double errorRate,        // 500
+            @DefaultValue("0") double unauthorizedRate  // 401 (토큰 만료 흉내)
+    ) {}
+}
@@ -0,0 +1,130 @@
+package com.stock.autostock.mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모의 KIS 실시간 push 서버 — 구독(tr_type=1) 요청을 받으면 ACK 후 pushIntervalMs 마다 HDFSCNT0 체결 프레임을 보낸다
+ */
+@Slf4j
+@Component
+@Profile("kis-mock")
+public class MockKisPushHandler extends TextWebSocketHandler implements SmartLifecycle {
+
+    private static final DateTimeFormatter YMD = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter HMS = DateTimeFormatter.ofPattern("HHmmss");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    private final MockMarket market;
+    private final MockKisProps props;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>(); // 세션 id → 구독
+
+    private ScheduledExecutorService pusher;
+
+    public MockKisPushHandler(MockMarket market, MockKisProps props) {
+        this.market = market;
+        this.props = props;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // 응답 ACK(핸들러 스레드)와 push(스케줄러 스레드)가 겹쳐도 안전하게 직렬화
+        var safe = new ConcurrentWebSocketSessionDecorator(session, 1000, 1 << 20);
+        subscribers.put(session.getId(), new Subscriber(safe, ConcurrentHashMap.newKeySet()));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession raw, TextMessage message) throws IOException {
+        JsonNode req = mapper.readTree(message.getPayload());
+        String trId = req.at("/body/input/tr_id").asText();
+        String trKey = req.at("/body/input/tr_key").asText();
+        boolean subscribe = "1".equals(req.at("/header/tr_type").asText());
+
+        Subscriber sub = subscribers.get(raw.getId());
+        if (sub == null) return;
+        if (subscribe) sub.keys().add(trKey);
+        else sub.keys().remove(trKey);
+        sub.session().sendMessage(new TextMessage("""
+                {"header":{"tr_id":"%s","tr_key":"%s","encrypt":"N"},\
+                "body":{"rt_cd":"0","msg_cd":"OPSP0000","msg1":"%s SUCCESS"}}"""
+                .formatted(trId, trKey, subscribe ? "SUBSCRIBE" : "UNSUBSCRIBE")));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        subscribers.remove(session.getId());
+    }
+
+    private void pushAll() {
+        var nowNy = ZonedDateTime.now(NEW_YORK);
+        var nowKr = nowNy.withZoneSameInstant(SEOUL);
+        for (Subscriber sub : subscribers.values()) {
+            for (String trKey : sub.keys()) {
+                try {
+                    sub.session().sendMessage(new TextMessage(frame(trKey, nowNy, nowKr)));
+                } catch (IOException | RuntimeException ex) {
+                    log.debug("mock push failed: {}", ex.toString());
+                }
+            }
+        }
+    }
+
+    /** 0|HDFSCNT0|001|RSYM^SYMB^ZDIV^TYMD^XYMD^XHMS^KYMD^KHMS^OPEN^HIGH^LOW^LAST^... (26필드) */
+    private String frame(String trKey, ZonedDateTime ny, ZonedDateTime kr) {
+        String ticker = trKey.substring(4); // D + NAS + 티커
+        String last = market.next(ticker).toPlainString();
+        String ymd = ny.format(YMD);
+        return "0|HDFSCNT0|001|" + String.join("^",
+                trKey, ticker, "4", ymd, ymd, ny.format(HMS), kr.format(YMD), kr.format(HMS),
+                last, last, last, last, "3", "0.0000", "0.00",
+                last, last, "100", "100", "1", "1000", last, "0", "0", "100.00", "1");
+    }
+
+    @Override
+    public void start() {
+        pusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mock-kis-push");
+            t.setDaemon(true);
+            return t;
+        });
+        pusher.scheduleAtFixedRate(this::pushAll, props.pushIntervalMs(), props.pushIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (pusher != null) {
+            pusher.shutdownNow();
+            pusher = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return pusher != null;
+    }
+
+    private record Subscriber(WebSocketSession session, Set<String> keys) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.stock.autostock.mock;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 모의 시세 — 티커별 랜덤워크(센트 단위). 모의 REST/WebSocket 이 같은 가격을 공유한다
+ */
+@Component
+@Profile("kis-mock")
+public class MockMarket {
+
+    private final Map<String, Long> cents = new ConcurrentHashMap<>();
+
+    /** 한 걸음 움직인 뒤 현재가 */
+    public BigDecimal next(String ticker) {
+        long c = cents.compute(ticker, (k, prev) -> {
+            long base = prev != null ? prev : 1000 + Math.floorMod(k.hashCode(), 2000);
+            return Math.max(1, base + ThreadLocalRandom.current().nextLong(-3, 4));
+        });
+        return BigDecimal.valueOf(c, 2).setScale(4, RoundingMode.UNNECESSARY);
+    }
+}
@@ -0,0 +1,51 @@
+package com.stock.autostock.replay;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 리플레이가 틱마다 앞으로 옮기는 시계 — Instant.now(clock) 이 기록 당시 수집 시각을 돌려준다.
+ * withZone 으로 만든 시계도 같은 시각을 공유한다 (zone 만 다름).
+ */
+public final class ReplayClock extends Clock {
+
+    private final AtomicLong millis;
+    private final ZoneId zone;
+
+    public ReplayClock(Instant start) {
+        this(new AtomicLong(start.toEpochMilli()), ZoneOffset.UTC);
+    }
+
+    private ReplayClock(AtomicLong millis, ZoneId zone) {
+        this.millis = millis;
+        this.zone = zone;
+    }
+
+    /** 뒤로는 가지 않음 (역전 틱이 있어도 단조) */
+    public void advanceTo(long epochMillis) {
+        millis.accumulateAndGet(epochMillis, Math::max);
+    }
+
+    @Override
+    public long millis() {
+        return millis.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis.get());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new ReplayClock(millis, zone);
+    }
+}
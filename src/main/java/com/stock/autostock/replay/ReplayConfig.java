@@ -0,0 +1,20 @@
+package com.stock.autostock.replay;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Instant;
+
+@Configuration
+@Profile("replay")
+@EnableConfigurationProperties(ReplayProps.class)
+public class ReplayConfig {
+
+    /** Clock 빈을 대신 — 처리기/토큰 관리자가 틱 기록 시각을 "현재"로 본다 */
+    @Bean
+    public ReplayClock clock() {
+        return new ReplayClock(Instant.EPOCH);
+    }
+}
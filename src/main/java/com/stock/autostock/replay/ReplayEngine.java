@@ -0,0 +1,161 @@
+package com.stock.autostock.replay;
+
+import com.stock.autostock.archive.TickArchiveReader;
+import com.stock.autostock.archive.TickCursor;
+import com.stock.autostock.config.PriceIngestJobConfig.TickItem;
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.entity.BaseSymbolTick.PriceSource;
+import com.stock.autostock.entity.PriceHistoryRing;
+import com.stock.autostock.watchlist.WatchlistEntry;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기록된 틱을 실시간 수집과 같은 경로(priceItemWriter → SymbolPriceCache → 지표/전략 → 이벤트)로 흘려보낸다.
+ * 대기 없이 CPU 가 허락하는 속도로 — 처리량(ticks/s)을 로그로 남겨 파이프라인 벤치마크로도 쓴다.
+ * 시계는 틱마다 기록 당시 수집 시각으로 이동, 주문은 SimulatedOrderGateway 가 같은 스레드에서 바로 체결 —
+ * 끝났을 때의 주문 수/포지션은 실행 속도와 무관하게 항상 같다.
+ */
+@Slf4j
+@Component
+@Profile("replay")
+public class ReplayEngine implements ApplicationRunner {
+
+    private final ReplayProps props;
+    private final ReplayClock clock;
+    private final ItemWriter<TickItem> writer;
+    private final TickArchiveReader archive;
+    private final JdbcTemplate jdbc;
+    private final SimulatedOrderGateway orders;
+    private final WatchlistRegistry watchlist;
+    private final ConfigurableApplicationContext context;
+
+    public ReplayEngine(ReplayProps props, ReplayClock clock,
+                        @Qualifier("priceItemWriter") ItemWriter<TickItem> writer,
+                        TickArchiveReader archive, JdbcTemplate jdbc,
+                        SimulatedOrderGateway orders, WatchlistRegistry watchlist,
+                        ConfigurableApplicationContext context) {
+        this.props = props;
+        this.clock = clock;
+        this.writer = writer;
+        this.archive = archive;
+        this.jdbc = jdbc;
+        this.orders = orders;
+        this.watchlist = watchlist;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (props.day() == null) throw new IllegalStateException("replay.day is required");
+        Result r = replay(props.source(), props.day(), assets());
+        log.info("replay {} {} done: {} ticks in {} ms ({} ticks/s), {} simulated orders {}",
+                props.source(), props.day(), r.ticks(), r.elapsedMs(), r.ticksPerSecond(), orders.orders(),
+                orders.positions());
+        if (props.exitOnFinish()) {
+            SpringApplication.exit(context, () -> 0);
+        }
+    }
+
+    public Result replay(ReplayProps.Source source, LocalDate day, List<TradableUs> assets) throws Exception {
+        long start = System.nanoTime();
+        long ticks = source == ReplayProps.Source.ARCHIVE ? fromArchive(day, assets) : fromTable(day, assets);
+        return new Result(ticks, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** 종목별 커서를 marketTs 순으로 병합 — 종목 수가 적어 매 틱 선형 최소 탐색 */
+    private long fromArchive(LocalDate day, List<TradableUs> assets) throws Exception {
+        TickCursor[] cursors = new TickCursor[assets.size()];
+        boolean[] has = new boolean[cursors.length];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = archive.open(assets.get(i).ticker(), day);
+            has[i] = cursors[i].next();
+        }
+        long n = 0;
+        while (true) {
+            int min = -1;
+            for (int i = 0; i < cursors.length; i++) {
+                if (has[i] && (min < 0 || cursors[i].marketMs() < cursors[min].marketMs())) min = i;
+            }
+            if (min < 0) break;
+            TickCursor c = cursors[min];
+            long ingestedMs = c.marketMs() + c.latencyMs();
+            clock.advanceTo(ingestedMs);
+            writer.write(Chunk.of(new TickItem(assets.get(min),
+                    PriceHistoryRing.fromScaled(c.priceE8()),
+                    Instant.ofEpochMilli(c.marketMs()),
+                    Instant.ofEpochMilli(ingestedMs),
+                    PriceSource.PRICE_LAST)));
+            n++;
+            has[min] = c.next();
+        }
+        for (TickCursor c : cursors) c.close();
+        return n;
+    }
+
+    private long fromTable(LocalDate day, List<TradableUs> assets) {
+        long[] n = {0};
+        jdbc.query(con -> {
+                    var ps = con.prepareStatement(
+                            "SELECT s.ticker, t.last, t.market_ts, t.ingested_at, t.source " +
+                            "FROM tick t JOIN tick_symbol s ON s.id = t.symbol_id " +
+                            "WHERE t.trading_day = ? ORDER BY t.market_ts, t.symbol_id");
+                    ps.setDate(1, Date.valueOf(day));
+                    ps.setFetchSize(1000);
+                    return ps;
+                },
+                rs -> {
+                    TradableUs asset = find(assets, rs.getString(1));
+                    if (asset == null) return;
+                    Instant ingested = rs.getTimestamp(4).toInstant();
+                    clock.advanceTo(ingested.toEpochMilli());
+                    try {
+                        writer.write(Chunk.of(new TickItem(asset, rs.getBigDecimal(2),
+                                rs.getTimestamp(3).toInstant(), ingested, PriceSource.valueOf(rs.getString(5)))));
+                    } catch (Exception e) {
+                        throw new IllegalStateException("replay write failed at " + ingested, e);
+                    }
+                    n[0]++;
+                });
+        return n[0];
+    }
+
+    private List<TradableUs> assets() {
+        if (props.tickers().isEmpty()) return watchlist.assets();
+        List<TradableUs> out = new ArrayList<>();
+        for (String t : props.tickers()) {
+            out.add(watchlist.find(t).map(WatchlistEntry::asset)
+                    .orElseThrow(() -> new IllegalArgumentException("unknown ticker: " + t)));
+        }
+        return out;
+    }
+
+    private static TradableUs find(List<TradableUs> assets, String ticker) {
+        for (TradableUs a : assets) {
+            if (a.ticker().equals(ticker)) return a;
+        }
+        return null;
+    }
+
+    public record Result(long ticks, long elapsedMs) {
+        public long ticksPerSecond() {
+            return elapsedMs == 0 ? ticks * 1000 : ticks * 1000 / elapsedMs;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.stock.autostock.replay;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "replay")
+public record ReplayProps(
+        @DefaultValue("archive") Source source,   // archive: 컬럼형 파일, table: tick 테이블
+        LocalDate day,                            // 거래일 (거래소 현지 날짜)
+        @DefaultValue List<String> tickers,       // 비우면 관심종목(watchlist) 전체
+        @DefaultValue("true") boolean exitOnFinish
+) {
+    public enum Source { ARCHIVE, TABLE }
+}
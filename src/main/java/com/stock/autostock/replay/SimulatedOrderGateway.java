@@ -0,0 +1,106 @@
+package com.stock.autostock.replay;
+
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.event.BuyEvent;
+import com.stock.autostock.event.Event;
+import com.stock.autostock.service.OrderGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 리플레이용 주문 — 브로커 호출 없이 즉시 체결. 지정가는 그 가격, 시장가는 신호 시각(marketTs) 기준 마지막 체결가로.
+ * 전략 신호는 비동기 OrderDispatcher(replay 프로필에선 없음) 대신 여기서 발행 스레드(리플레이 writer)에서 바로 체결 —
+ * 큐 유실/스레드 순서에 따라 결과가 달라지지 않아 같은 기록을 두 번 돌리면 같은 주문이 나온다.
+ * 종목별 포지션/현금 흐름만 누적해 종료 시 요약.
+ */
+@Slf4j
+@Primary
+@Component
+@Profile("replay")
+public class SimulatedOrderGateway implements OrderGateway, DisposableBean {
+
+    private final SymbolPriceCache cache;
+    private final Clock clock;                  // replay 프로필의 ReplayClock
+    private final AtomicLong seq = new AtomicLong();
+    private final Map<String, Position> positions = new ConcurrentHashMap<>();
+
+    public SimulatedOrderGateway(SymbolPriceCache cache, Clock clock) {
+        this.cache = cache;
+        this.clock = clock;
+    }
+
+    /** 전략 신호 — 동기 체결 (가격 기준은 신호의 marketTs) */
+    @EventListener
+    public void on(Event e) {
+        Side side = e instanceof BuyEvent ? Side.BUY : Side.SELL;
+        fill(side, e.getTradableUs(), e.getQuantity(), e.getLimitPrice(), e.getAt())
+                .exceptionally(ex -> {
+                    log.warn("replay order not filled: {} {}", e.getTradableUs(), ex.getMessage());
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<String> submit(Side side, TradableUs asset, int quantity, BigDecimal limitPrice) {
+        return fill(side, asset, quantity, limitPrice, clock.instant());
+    }
+
+    private CompletableFuture<String> fill(Side side, TradableUs asset, int quantity, BigDecimal limitPrice, Instant at) {
+        BigDecimal px = limitPrice != null ? limitPrice
+                : cache.atOrBefore(asset.ticker(), at)
+                .map(SymbolPriceCache.Snapshot::last)
+                .orElse(null);
+        if (px == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("no price for " + asset.ticker() + " at " + at));
+        }
+        int signed = side == Side.BUY ? quantity : -quantity;
+        positions.computeIfAbsent(asset.ticker(), t -> new Position()).fill(signed, px);
+        return CompletableFuture.completedFuture("SIM-" + seq.incrementAndGet());
+    }
+
+    public long orders() {
+        return seq.get();
+    }
+
+    /** 종목별 "수량/현금" — 리플레이 결과 비교용 */
+    public Map<String, String> positions() {
+        Map<String, String> out = new TreeMap<>();
+        positions.forEach((t, p) -> out.put(t, p.summary()));
+        return out;
+    }
+
+    @Override
+    public void destroy() {
+        positions.forEach((t, p) -> log.info("replay position {}: qty={} cash={} fills={}", t, p.qty, p.cash, p.fills));
+    }
+
+    private static final class Position {
+        private long qty;
+        private BigDecimal cash = BigDecimal.ZERO;
+        private int fills;
+
+        synchronized String summary() {
+            return qty + "/" + cash.toPlainString();
+        }
+
+        synchronized void fill(int signedQty, BigDecimal px) {
+            qty += signedQty;
+            cash = cash.subtract(px.multiply(BigDecimal.valueOf(signedQty)));
+            fills++;
+        }
+    }
+}
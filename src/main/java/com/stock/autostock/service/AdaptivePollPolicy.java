@@ -0,0 +1,105 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.config.MarketSessionProps;
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.service.MarketSessionCalendar.Mode;
+import com.stock.autostock.watchlist.WatchlistEntry;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이번 슬롯에 실제로 시세를 조회할지 결정 — 수집 processor 가 조회 직전에 묻고 조회 직후 결과를 알려준다.
+ * <ul>
+ *   <li>장 닫힘(SUSPENDED): 조회 안 함 — API 한도/DB/CPU 를 쓰지 않음</li>
+ *   <li>시간외(SLOW): 종목 주기와 slowIntervalMs 중 긴 쪽</li>
+ *   <li>같은 marketTs 가 이어지면 주기를 2배씩 늘리고(최대 maxMultiplier 배), 값이 바뀌면 즉시 원래 주기로</li>
+ * </ul>
+ * 슬롯 자체는 원래 주기로 계속 돌고 여기서 건너뛰기만 하므로, 모드/백오프가 풀리면 다음 슬롯부터 바로 정상 주기.
+ */
+@Slf4j
+@Component
+public class AdaptivePollPolicy {
+
+    private final MarketSessionCalendar calendar;
+    private final WatchlistRegistry watchlist;
+    private final MarketSessionProps props;
+    private final long defaultIntervalMs;
+    private final Clock clock;
+    private final Counter skippedClosed;
+    private final Counter skippedSlow;
+    private final Counter skippedBackoff;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final Map<String, Mode> modes = new ConcurrentHashMap<>(); // 거래소별 마지막 모드 — 전환 로그용 (첫 판정은 로그 안 함)
+
+    public AdaptivePollPolicy(MarketSessionCalendar calendar, WatchlistRegistry watchlist, MarketSessionProps props,
+                              IngestProps ingestProps, Clock clock, MeterRegistry meters) {
+        this.calendar = calendar;
+        this.watchlist = watchlist;
+        this.props = props;
+        this.defaultIntervalMs = ingestProps.intervalMs();
+        this.clock = clock;
+        this.skippedClosed = meters.counter("price.ingest.skipped", "reason", "closed");
+        this.skippedSlow = meters.counter("price.ingest.skipped", "reason", "slow");
+        this.skippedBackoff = meters.counter("price.ingest.skipped", "reason", "unchanged");
+    }
+
+    /** 조회해야 하면 true 이고, 그 시각을 마지막 조회로 기록 */
+    public boolean shouldPoll(TradableUs asset) {
+        Mode mode = calendar.modeAt(asset.exchange(), clock.instant());
+        Mode prev = modes.put(asset.exchange(), mode);
+        if (prev != null && prev != mode) log.info("market {} polling mode: {} -> {}", asset.exchange(), prev, mode);
+        if (mode == Mode.SUSPENDED) {
+            skippedClosed.increment();
+            return false;
+        }
+
+        long base = watchlist.find(asset.ticker()).map(WatchlistEntry::intervalMs).orElse(defaultIntervalMs);
+        long interval = mode == Mode.SLOW ? Math.max(base, props.slowIntervalMs()) : base;
+        State s = states.computeIfAbsent(asset.ticker(), k -> new State());
+        synchronized (s) {
+            long effective = interval * s.multiplier;
+            long now = clock.millis(); // 리플레이 시계에서도 같은 간격으로 건너뜀
+            long elapsed = now - s.lastPollMs;
+            // 슬롯은 base 주기로 오므로 반 주기 여유 — 지터 때문에 한 슬롯 더 기다리지 않게. 시계가 뒤로 가면 바로 조회
+            if (effective > base && s.lastPollMs != 0 && elapsed >= 0 && elapsed < effective - base / 2) {
+                (s.multiplier > 1 ? skippedBackoff : skippedSlow).increment();
+                return false;
+            }
+            s.lastPollMs = now;
+            return true;
+        }
+    }
+
+    /** 조회 결과 — marketTs 가 그대로면 unchanged 누적, 바뀌면 백오프 해제 */
+    public void observe(TradableUs asset, Instant marketTs) {
+        State s = states.computeIfAbsent(asset.ticker(), k -> new State());
+        MarketSessionProps.Backoff b = props.backoff();
+        synchronized (s) {
+            if (marketTs.equals(s.lastMarketTs)) {
+                s.unchanged++;
+                int steps = s.unchanged / Math.max(1, b.unchangedThreshold());
+                s.multiplier = (int) Math.min(b.maxMultiplier(), 1L << Math.min(steps, 30));
+            } else {
+                s.lastMarketTs = marketTs;
+                s.unchanged = 0;
+                s.multiplier = 1;
+            }
+        }
+    }
+
+    private static final class State {
+        Instant lastMarketTs;
+        int unchanged;
+        int multiplier = 1;
+        long lastPollMs;
+    }
+}
@@ -0,0 +1,206 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.domain.BarResolution;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 수집 writer 에서 틱을 받아 1s/1m/5m/1h OHLC 봉을 메모리에서 갱신.
+ * marketTs 가 다음 봉 경계를 넘는 틱이 오면 이전 봉을 닫아 버퍼에 넣고, 주기적으로 tick_bar 에 batch MERGE.
+ * 종료 시에는 열린 봉도 기록 — 재시작 후 같은 봉에 틱이 더 오면 MERGE 가 덮어쓴다.
+ * MERGE 가 실패하면 닫힌 봉을 writer.maxPending 까지 버퍼에 되돌려 다음 flush 에 다시 쓴다 (TickBatchWriter 와 같은 규칙).
+ */
+@Slf4j
+@Component
+public class BarAggregator implements SmartLifecycle {
+
+    private static final String MERGE_SQL =
+            "MERGE INTO tick_bar (symbol_id, res_sec, bar_start, open, high, low, close, tick_count) " +
+            "KEY (symbol_id, res_sec, bar_start) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final BarResolution[] RESOLUTIONS = BarResolution.values();
+
+    private final JdbcTemplate jdbc;
+    private final IngestProps.Writer props;
+    private final ConcurrentHashMap<Integer, OpenBar[]> open = new ConcurrentHashMap<>();
+    private final Queue<ClosedBar> closed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter dropped;
+
+    private ScheduledExecutorService flusher;
+
+    public BarAggregator(JdbcTemplate jdbc, IngestProps ingestProps, MeterRegistry meters) {
+        this.jdbc = jdbc;
+        this.props = ingestProps.writer();
+        this.dropped = Counter.builder("bar.write.dropped")
+                .description("저장 실패 후 대기열 한도를 넘어 버린 봉 수")
+                .register(meters);
+        meters.gauge("bar.write.pending", pending);
+    }
+
+    /** 틱 1건 반영 — 봉 경계를 넘었으면 이전 봉을 닫음. 이미 닫힌 봉보다 과거 틱은 버림 */
+    public void onTick(int symbolId, Instant marketTs, BigDecimal last) {
+        OpenBar[] bars = open.computeIfAbsent(symbolId, id -> {
+            OpenBar[] a = new OpenBar[RESOLUTIONS.length];
+            for (int i = 0; i < a.length; i++) a[i] = new OpenBar(RESOLUTIONS[i]);
+            return a;
+        });
+        for (OpenBar bar : bars) {
+            ClosedBar done = bar.add(symbolId, marketTs, last);
+            if (done != null) enqueue(done);
+        }
+    }
+
+    /** 닫힌 봉을 즉시 기록 — 실패하면 꺼낸 봉을 버퍼에 되돌리고 예외는 그대로 던짐 */
+    public synchronized void flush() {
+        List<ClosedBar> batch = new ArrayList<>();
+        ClosedBar b;
+        while ((b = closed.poll()) != null) batch.add(b);
+        if (batch.isEmpty()) return;
+        pending.addAndGet(-batch.size());
+
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            requeue(batch);
+            throw e;
+        }
+    }
+
+    private void enqueue(ClosedBar bar) {
+        closed.add(bar);
+        pending.incrementAndGet();
+    }
+
+    /** 실패한 봉 묶음을 버퍼 뒤로 — 한도를 넘는 만큼은 오래된 것부터 버림 (flush 안에서만 호출) */
+    private void requeue(List<ClosedBar> batch) {
+        int room = Math.max(0, props.maxPending() - pending.get());
+        int keep = Math.min(room, batch.size());
+        int lost = batch.size() - keep;
+        for (ClosedBar bar : batch.subList(lost, batch.size())) {
+            closed.add(bar);
+        }
+        pending.addAndGet(keep);
+        if (lost > 0) {
+            dropped.increment(lost);
+            log.warn("bar flush failed, dropped {} of {} bars (pending limit {})", lost, batch.size(), props.maxPending());
+        }
+    }
+
+    /** 봉 묶음을 바로 MERGE — 보관 작업의 재집계에서도 사용 */
+    void write(List<ClosedBar> batch) {
+        if (batch.isEmpty()) return;
+        jdbc.batchUpdate(MERGE_SQL, batch, props.flushSize(), (ps, bar) -> {
+            ps.setInt(1, bar.symbolId());
+            ps.setInt(2, bar.resolution().seconds());
+            ps.setTimestamp(3, Timestamp.from(Instant.ofEpochSecond(bar.startSec())));
+            ps.setBigDecimal(4, bar.open());
+            ps.setBigDecimal(5, bar.high());
+            ps.setBigDecimal(6, bar.low());
+            ps.setBigDecimal(7, bar.close());
+            ps.setInt(8, bar.tickCount());
+        });
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("bar flush failed", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "bar-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly,
+                props.flushIntervalMs(), props.flushIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher = null;
+        }
+        // 열린 봉까지 기록
+        open.forEach((id, bars) -> {
+            for (OpenBar bar : bars) {
+                ClosedBar snap = bar.snapshot(id);
+                if (snap != null) enqueue(snap);
+            }
+        });
+        flushQuietly();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    /** 종목·단위별 진행 중인 봉 — 종목 하나에 writer 가 둘(폴링/스트림)일 수 있어 동기화 */
+    static final class OpenBar {
+        private final BarResolution res;
+        private long startSec = Long.MIN_VALUE;
+        private Instant lastTs;
+        private BigDecimal open, high, low, close;
+        private int count;
+
+        OpenBar(BarResolution res) {
+            this.res = res;
+        }
+
+        synchronized ClosedBar add(int symbolId, Instant ts, BigDecimal px) {
+            long start = res.startOf(ts);
+            if (start < startSec) return null; // 이미 닫힌 봉 구간 — 지각 틱 무시
+
+            ClosedBar done = null;
+            if (start > startSec) {
+                if (count > 0) done = new ClosedBar(symbolId, res, startSec, open, high, low, close, count);
+                startSec = start;
+                open = high = low = close = px;
+                lastTs = ts;
+                count = 1;
+                return done;
+            }
+            if (px.compareTo(high) > 0) high = px;
+            if (px.compareTo(low) < 0) low = px;
+            if (!ts.isBefore(lastTs)) { // 같은 봉 안 역전 틱은 고/저에만 반영
+                close = px;
+                lastTs = ts;
+            }
+            count++;
+            return null;
+        }
+
+        synchronized ClosedBar snapshot(int symbolId) {
+            return count == 0 ? null : new ClosedBar(symbolId, res, startSec, open, high, low, close, count);
+        }
+    }
+
+    record ClosedBar(int symbolId, BarResolution resolution, long startSec,
+                             BigDecimal open, BigDecimal high, BigDecimal low, BigDecimal close,
+                             int tickCount) {}
+}
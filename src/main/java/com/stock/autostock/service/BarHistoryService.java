@@ -0,0 +1,46 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.domain.BarResolution;
+import com.stock.autostock.entity.TickBar;
+import com.stock.autostock.entity.TickBarRepository;
+import com.stock.autostock.entity.TickSymbolRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 기간 조회 — 요청 구간을 maxPoints 개 이하로 담을 수 있는 가장 세밀한 봉 단위를 골라 읽는다.
+ * 긴 구간일수록 거친 봉을 읽으므로 원시 틱을 훑는 것보다 읽는 행 수가 자릿수 단위로 적다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BarHistoryService {
+
+    private final TickSymbolRepository symbols;
+    private final TickBarRepository bars;
+
+    @Transactional(readOnly = true)
+    public History history(String ticker, Instant from, Instant to, int maxPoints) {
+        if (!to.isAfter(from)) throw new IllegalArgumentException("to must be after from");
+        BarResolution res = resolutionFor(Duration.between(from, to), maxPoints);
+        List<TickBar> rows = symbols.findByTicker(ticker)
+                .map(s -> bars.findRange(s.getId(), res.seconds(), from, to))
+                .orElse(List.of());
+        return new History(ticker, res, rows);
+    }
+
+    /** 구간을 maxPoints 봉 이하로 덮는 가장 세밀한 단위, 없으면 가장 거친 단위 */
+    static BarResolution resolutionFor(Duration range, int maxPoints) {
+        long sec = Math.max(1, range.toSeconds());
+        for (BarResolution r : BarResolution.values()) {
+            if ((sec + r.seconds() - 1) / r.seconds() <= maxPoints) return r;
+        }
+        return BarResolution.H1;
+    }
+
+    public record History(String ticker, BarResolution resolution, List<TickBar> bars) {}
+}
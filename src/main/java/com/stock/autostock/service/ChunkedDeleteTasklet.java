@@ -0,0 +1,35 @@
+package com.stock.autostock.service;
+
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 범위 삭제를 chunk 행씩 끊어서 — 실행 1회가 1 트랜잭션이라 락을 짧게 잡고 수집 writer 와 번갈아 진행.
+ * sql 은 {@code DELETE ... WHERE ... FETCH FIRST ? ROWS ONLY} 형태, 마지막 파라미터가 chunk.
+ */
+public class ChunkedDeleteTasklet implements Tasklet {
+
+    private final JdbcTemplate jdbc;
+    private final String sql;
+    private final Object[] params;
+    private final int chunk;
+
+    public ChunkedDeleteTasklet(JdbcTemplate jdbc, String sql, int chunk, Object... params) {
+        this.jdbc = jdbc;
+        this.sql = sql;
+        this.chunk = chunk;
+        this.params = new Object[params.length + 1];
+        System.arraycopy(params, 0, this.params, 0, params.length);
+        this.params[params.length] = chunk;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        int deleted = jdbc.update(sql, params);
+        contribution.incrementWriteCount(deleted);
+        return deleted < chunk ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+}
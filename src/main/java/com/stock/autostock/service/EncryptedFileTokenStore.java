@@ -0,0 +1,103 @@
+package com.stock.autostock.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 토큰을 로컬 파일에 AES-256-GCM 으로 저장. 키는 appSecret 에서 PBKDF2 로 유도(솔트는 파일마다 무작위),
+ * appKey 를 AAD 로 묶어 다른 계정 파일은 복호화되지 않는다.
+ * 파일: [salt 16][iv 12][암호문(만료 epoch초 8 + 토큰 UTF-8) + 태그 16]
+ */
+@Slf4j
+public class EncryptedFileTokenStore implements TokenStore {
+
+    private static final int SALT = 16, IV = 12, TAG_BITS = 128, ITERATIONS = 10_000; // appSecret 자체가 고엔트로피라 반복 횟수는 기동 지연만 늘림
+
+    private final Path file;
+    private final byte[] aad;
+    private final char[] secret;
+    private final SecureRandom random = new SecureRandom();
+
+    public EncryptedFileTokenStore(Path file, String appKey, String appSecret) {
+        this.file = file;
+        this.aad = appKey.getBytes(StandardCharsets.UTF_8);
+        this.secret = appSecret.toCharArray();
+    }
+
+    @Override
+    public Optional<Stored> load() {
+        if (!Files.exists(file)) return Optional.empty();
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+            byte[] salt = new byte[SALT], iv = new byte[IV];
+            in.get(salt).get(iv);
+            byte[] sealed = new byte[in.remaining()];
+            in.get(sealed);
+
+            Cipher c = cipher(Cipher.DECRYPT_MODE, salt, iv);
+            ByteBuffer plain = ByteBuffer.wrap(c.doFinal(sealed));
+            Instant expires = Instant.ofEpochSecond(plain.getLong());
+            String value = StandardCharsets.UTF_8.decode(plain).toString();
+            return Optional.of(new Stored(value, expires));
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            // 키가 바뀌었거나 손상 — 새로 발급받으면 덮어씀
+            log.warn("stored KIS token unreadable, ignoring: {} ({})", file, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(Stored token) {
+        try {
+            byte[] salt = new byte[SALT], iv = new byte[IV];
+            random.nextBytes(salt);
+            random.nextBytes(iv);
+            byte[] value = token.value().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer plain = ByteBuffer.allocate(8 + value.length)
+                    .putLong(token.expires().getEpochSecond())
+                    .put(value);
+
+            byte[] sealed = cipher(Cipher.ENCRYPT_MODE, salt, iv).doFinal(plain.array());
+            byte[] out = ByteBuffer.allocate(SALT + IV + sealed.length).put(salt).put(iv).put(sealed).array();
+
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "kis-token", ".tmp");
+            try {
+                Files.setPosixFilePermissions(tmp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException ignored) {
+                // POSIX 가 아닌 파일시스템
+            }
+            Files.write(tmp, out);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | GeneralSecurityException e) {
+            log.warn("failed to persist KIS token: {}", file, e); // 저장 실패는 다음 재기동에 재발급될 뿐
+        }
+    }
+
+    private Cipher cipher(int mode, byte[] salt, byte[] iv) throws GeneralSecurityException {
+        byte[] key = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+                .generateSecret(new PBEKeySpec(secret, salt, ITERATIONS, 256))
+                .getEncoded();
+        Cipher c = Cipher.getInstance("AES/GCM/NoPadding");
+        c.init(mode, new SecretKeySpec(key, "AES"), new GCMParameterSpec(TAG_BITS, iv));
+        c.updateAAD(aad);
+        return c;
+    }
+}
@@ -0,0 +1,221 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.KisClientProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 모든 KIS 호출의 공용 복원력 계층.
+ * - 401: 실패한 토큰이 아직 현재 토큰일 때만 1회 재발급(single-flight) 후 재시도
+ * - 일시 장애(5xx/I/O/429): 지터 섞인 지수 백오프로 maxAttempts 까지 재시도 — 단, 주문처럼 멱등이 아닌 호출은 제외
+ * - 연속 실패 failureThreshold 회면 openMs 동안 회로 개방 → 호출 즉시 KisCircuitOpenException (폴링 중단)
+ */
+@Component
+public class KisCallExecutor {
+
+    /** 재시도 정책 — 주문은 중복 체결 위험 때문에 서버가 처리했을 수 있는 실패는 재시도하지 않음 */
+    public enum Retry { IDEMPOTENT, NON_IDEMPOTENT }
+
+    private final TokenManagerLean tokenManager;
+    private final KisClientProps.Resilience props;
+    private final MeterRegistry meters;
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> callTimers = new ConcurrentHashMap<>();      // op/outcome → 미터 (한 번만 등록)
+    private final Map<String, Counter> retryCounters = new ConcurrentHashMap<>(); // op/reason
+
+    public KisCallExecutor(TokenManagerLean tokenManager, KisClientProps clientProps, MeterRegistry meters) {
+        this.tokenManager = tokenManager;
+        this.props = clientProps.resilience();
+        this.meters = meters;
+    }
+
+    /** 이 작업 종류의 회로가 호출을 허용하는가 (폴링 루프가 사이클 자체를 건너뛸 때 사용) */
+    public boolean allows(String op) {
+        return breaker(op).allows(System.nanoTime());
+    }
+
+    /** call 에는 현재 Authorization 값("Bearer ...")이 넘어간다 */
+    public <T> T call(String op, Retry retry, Function<String, T> call) {
+        return execute(op, retry, true, call);
+    }
+
+    /** 토큰이 필요 없는 호출(해시키 등) — 회로/재시도만 적용, bearer 는 조회하지 않음 */
+    public <T> T callWithoutToken(String op, Retry retry, Supplier<T> call) {
+        return execute(op, retry, false, auth -> call.get());
+    }
+
+    private <T> T execute(String op, Retry retry, boolean authorized, Function<String, T> call) {
+        Breaker breaker = breaker(op);
+        if (!breaker.tryAcquire(System.nanoTime())) {
+            throw new KisCircuitOpenException("KIS 회로 개방 중: " + op);
+        }
+
+        long start = System.nanoTime();
+        String outcome = "error";
+        boolean settled = false; // 회로에 결과를 알렸는가 — 아니면 finally 에서 release (half-open 시험이 잡힌 채 남지 않게)
+        try {
+            for (int attempt = 1; ; attempt++) {
+                String auth = null;
+                try {
+                    if (authorized) auth = tokenManager.bearer();
+                } catch (KisRequestShedException e) {
+                    outcome = "shed"; // 토큰 레인 호출 한도 — 장애 아님
+                    throw e;
+                } catch (RuntimeException e) {
+                    settled = true;
+                    throw failure(breaker, e); // 토큰 발급 장애도 upstream 장애로 집계
+                }
+                try {
+                    T result = call.apply(auth);
+                    breaker.onSuccess();
+                    settled = true;
+                    outcome = "success";
+                    return result;
+                } catch (HttpClientErrorException.Unauthorized e) {
+                    if (!authorized) {
+                        breaker.onSuccess(); // 토큰과 무관한 401 — 다른 4xx 와 같이 요청 자체의 문제
+                        settled = true;
+                        throw e;
+                    }
+                    if (attempt >= props.maxAttempts()) {
+                        settled = true;
+                        throw failure(breaker, e);
+                    }
+                    retried(op, "unauthorized");
+                    try {
+                        tokenManager.refreshIfCurrent(auth);
+                    } catch (KisRequestShedException se) {
+                        outcome = "shed";
+                        throw se;
+                    } catch (RuntimeException re) {
+                        settled = true;
+                        throw failure(breaker, re);
+                    }
+                } catch (KisRequestShedException e) {
+                    outcome = "shed"; // 호출 한도에 의한 생략 — 장애 아님
+                    throw e;
+                } catch (HttpClientErrorException.TooManyRequests e) {
+                    // 429 는 서버가 처리하지 않은 요청이라 주문도 재시도 가능
+                    if (attempt >= props.maxAttempts()) {
+                        settled = true;
+                        throw failure(breaker, e);
+                    }
+                    retried(op, "throttled");
+                    backoff(attempt);
+                } catch (HttpServerErrorException | ResourceAccessException e) {
+                    if (retry == Retry.NON_IDEMPOTENT || attempt >= props.maxAttempts()) {
+                        settled = true;
+                        throw failure(breaker, e);
+                    }
+                    retried(op, e instanceof ResourceAccessException ? "io" : "server");
+                    backoff(attempt);
+                } catch (HttpClientErrorException e) {
+                    breaker.onSuccess(); // 요청 자체의 문제(4xx) — upstream 은 정상
+                    settled = true;
+                    throw e;
+                }
+                // 그 밖의 RuntimeException(업무 오류 rt_cd != 0, 예상 밖 오류)은 성공으로 세지 않고 release 만
+            }
+        } finally {
+            if (!settled) breaker.release();
+            String tag = outcome;
+            callTimers.computeIfAbsent(op + '/' + tag, k -> Timer.builder("kis.call")
+                    .description("KIS 호출 지연(재시도 포함)")
+                    .tag("op", op)
+                    .tag("outcome", tag)
+                    .register(meters)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private RuntimeException failure(Breaker breaker, RuntimeException e) {
+        breaker.onFailure(System.nanoTime());
+        return e;
+    }
+
+    private void retried(String op, String reason) {
+        retryCounters.computeIfAbsent(op + '/' + reason, k -> Counter.builder("kis.call.retries")
+                .description("KIS 호출 재시도 수")
+                .tag("op", op)
+                .tag("reason", reason)
+                .register(meters)).increment();
+    }
+
+    private void backoff(int attempt) {
+        long cap = Math.min(props.maxBackoffMs(), props.baseBackoffMs() << Math.min(attempt - 1, 16));
+        long sleep = ThreadLocalRandom.current().nextLong(cap / 2, cap + 1); // equal jitter
+        try {
+            Thread.sleep(sleep);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("KIS 재시도 대기 중 인터럽트", e);
+        }
+    }
+
+    private Breaker breaker(String op) {
+        return breakers.computeIfAbsent(op, k -> {
+            Breaker b = new Breaker(props.failureThreshold(), TimeUnit.MILLISECONDS.toNanos(props.openMs()));
+            Gauge.builder("kis.circuit.open", b, x -> x.allows(System.nanoTime()) ? 0 : 1)
+                    .description("회로 개방 여부(1=개방)")
+                    .tag("op", k)
+                    .register(meters);
+            return b;
+        });
+    }
+
+    /** 연속 실패 기반 회로차단기: CLOSED → (threshold) OPEN → (openNanos 경과) HALF_OPEN 시험 1건 */
+    static final class Breaker {
+        private final int threshold;
+        private final long openNanos;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean open;
+        private boolean trialInFlight;
+
+        Breaker(int threshold, long openNanos) {
+            this.threshold = threshold;
+            this.openNanos = openNanos;
+        }
+
+        synchronized boolean allows(long now) {
+            return !open || (now - openedAt >= openNanos && !trialInFlight);
+        }
+
+        synchronized boolean tryAcquire(long now) {
+            if (!open) return true;
+            if (now - openedAt < openNanos || trialInFlight) return false;
+            trialInFlight = true; // half-open: 시험 호출 1건만 통과
+            return true;
+        }
+
+        synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            open = false;
+            trialInFlight = false;
+        }
+
+        synchronized void release() {
+            trialInFlight = false;
+        }
+
+        synchronized void onFailure(long now) {
+            trialInFlight = false;
+            if (open || ++consecutiveFailures >= threshold) {
+                open = true;
+                openedAt = now;
+            }
+        }
+    }
+}
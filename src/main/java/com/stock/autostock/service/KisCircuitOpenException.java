@@ -0,0 +1,11 @@
+package com.stock.autostock.service;
+
+/**
+ * 회로차단기가 열려 있어 KIS 호출을 보내지 않았을 때
+ */
+public class KisCircuitOpenException extends IllegalStateException {
+
+    public KisCircuitOpenException(String message) {
+        super(message);
+    }
+}
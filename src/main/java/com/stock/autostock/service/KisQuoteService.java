@@ -3,21 +3,39 @@ package com.stock.autostock.service;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.stock.autostock.domain.TradableUs;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 
 import java.math.BigDecimal;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 해외주식 현재가 조회.
+ * 같은 종목에 대한 동시 요청(수집 잡/전략/REST API)은 진행 중인 1건으로 합쳐(coalescing) upstream 호출을 1회로 줄인다.
+ * 다종목 조회는 공유 커넥션 풀 위에서 maxConcurrency 만큼만 병렬로 흘려보낸다.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class KisQuoteService {
 
+    public static final String OP_QUOTE = "quote";
     private static final String PATH_PRICE = "/uapi/overseas-price/v1/quotations/price";
     private static final String HDR_AUTH = "authorization";
     private static final String HDR_TRID = "tr_id";
@@ -27,11 +45,38 @@ public class KisQuoteService {
             "NYSE", ZoneId.of("America/New_York"),
             "AMEX", ZoneId.of("America/New_York")
     );
-    private final RestClient kisRestClient;      // @Qualifier("kisRestClient") 로 등록됨
-    private final TokenManagerLean tokenManager;
+    private final RestClient kisRestClient;
+    private final KisCallExecutor calls;
+    private final ExecutorService quotePool;     // 다종목 조회용 — 동시 요청 수 상한
+    private final Map<String, CompletableFuture<LastTick>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meters;
+    private final Map<String, Timer> fetchTimers = new ConcurrentHashMap<>();       // outcome → 히스토그램
+    private final Map<String, Timer> tickerFetchTimers = new ConcurrentHashMap<>(); // 종목 → count/sum/max
 
-    private static Instant toMarketInstant(String xymd, String hms, String exchangeCode) {
-        ZoneId zone = EXCHANGE_TZ.getOrDefault(exchangeCode, ZoneId.of("UTC"));
+    public KisQuoteService(
+            @Qualifier("kisRestClient") RestClient kisRestClient,
+            KisCallExecutor calls,
+            @Qualifier("kisQuoteExecutor") ExecutorService quotePool,
+            MeterRegistry meters
+    ) {
+        this.kisRestClient = kisRestClient;
+        this.calls = calls;
+        this.quotePool = quotePool;
+        this.meters = meters;
+    }
+
+    /** 거래소 현지 시간대 (모르는 거래소는 UTC) */
+    public static ZoneId zoneOf(String exchangeCode) {
+        return EXCHANGE_TZ.getOrDefault(exchangeCode, ZoneOffset.UTC);
+    }
+
+    /** 시간대를 아는 거래소인가 — 세션 캘린더는 이 거래소들에만 적용 */
+    public static boolean hasSessionZone(String exchangeCode) {
+        return EXCHANGE_TZ.containsKey(exchangeCode);
+    }
+
+    static Instant toMarketInstant(String xymd, String hms, String exchangeCode) {
+        ZoneId zone = zoneOf(exchangeCode);
         var d = LocalDate.parse(xymd, DateTimeFormatter.BASIC_ISO_DATE);
         var t = LocalTime.parse(hms.substring(0, 6), DateTimeFormatter.ofPattern("HHmmss"));
         return ZonedDateTime.of(d, t, zone).toInstant();
@@ -41,9 +86,91 @@ public class KisQuoteService {
         return getLastTick(asset.exchange(), asset.ticker());
     }
 
+    /** 단건 조회 — 같은 종목 요청이 이미 진행 중이면 그 결과를 같이 기다린다 */
     public LastTick getLastTick(String exchangeCode, String symbol) {
-        var auth = tokenManager.bearer();
+        String key = exchangeCode + ':' + symbol;
+        var mine = new CompletableFuture<LastTick>();
+        var existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) return await(existing);
+
+        fetchInto(key, mine, exchangeCode, symbol); // 선두 호출자는 자기 스레드에서 바로 조회
+        return await(mine);
+    }
+
+    /**
+     * 다종목 조회. KIS 해외 현재가는 종목당 1요청이라 quotePool 로 병렬(최대 maxConcurrency) 처리하고,
+     * 진행 중인 같은 종목 요청과는 합친다. 실패한 종목은 결과에서 빠진다.
+     */
+    public Map<TradableUs, LastTick> getLastTicks(Collection<TradableUs> assets) {
+        Map<TradableUs, CompletableFuture<LastTick>> futures = new LinkedHashMap<>();
+        for (TradableUs asset : assets) {
+            futures.put(asset, submit(asset.exchange(), asset.ticker()));
+        }
+        Map<TradableUs, LastTick> out = new LinkedHashMap<>();
+        futures.forEach((asset, f) -> {
+            try {
+                out.put(asset, await(f));
+            } catch (KisCircuitOpenException | KisRequestShedException e) {
+                log.debug("quote skipped: {} ({})", asset.ticker(), e.getMessage()); // 회로/호출 한도 — 전 종목 공통이라 조용히
+            } catch (RuntimeException e) {
+                log.warn("quote failed: {} ({})", asset.ticker(), e.toString()); // 한 종목 실패가 나머지를 막지 않음
+            }
+        });
+        return out;
+    }
+
+    private CompletableFuture<LastTick> submit(String exchangeCode, String symbol) {
+        String key = exchangeCode + ':' + symbol;
+        var mine = new CompletableFuture<LastTick>();
+        var existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) return existing;
+        quotePool.execute(() -> fetchInto(key, mine, exchangeCode, symbol));
+        return mine;
+    }
+
+    private void fetchInto(String key, CompletableFuture<LastTick> target, String exchangeCode, String symbol) {
+        long start = System.nanoTime();
+        String outcome = "success";
         try {
+            target.complete(fetch(exchangeCode, symbol));
+        } catch (Throwable e) {
+            outcome = outcomeOf(e);
+            target.completeExceptionally(e);
+        } finally {
+            // 합쳐진 대기자는 빼고 실제 upstream 조회 1건당 1회 (재시도 포함)
+            long took = System.nanoTime() - start;
+            fetchTimers.computeIfAbsent(outcome, o -> Timer.builder("kis.quote.fetch")
+                    .tag("outcome", o)
+                    .register(meters)).record(took, TimeUnit.NANOSECONDS);
+            tickerFetchTimers.computeIfAbsent(symbol, t -> Timer.builder("kis.quote.ticker.fetch")
+                    .tag("ticker", t)
+                    .register(meters)).record(took, TimeUnit.NANOSECONDS);
+            inFlight.remove(key, target); // 완료 후 제거 — 이후 요청은 새로 조회
+        }
+    }
+
+    /** outcome 태그는 고정된 몇 가지로만 — 예외 클래스명을 그대로 쓰면 시계열이 늘어난다 */
+    static String outcomeOf(Throwable e) {
+        if (e instanceof KisCircuitOpenException) return "circuit_open";
+        if (e instanceof KisRequestShedException) return "shed";
+        if (e instanceof HttpClientErrorException) return "client_error";
+        if (e instanceof HttpServerErrorException) return "server_error";
+        if (e instanceof ResourceAccessException) return "io";
+        return "error";
+    }
+
+    private static LastTick await(CompletableFuture<LastTick> f) {
+        try {
+            return f.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("현재가 조회 실패", e.getCause());
+        }
+    }
+
+    private LastTick fetch(String exchangeCode, String symbol) {
+        // 401 재발급/재시도/회로차단은 KisCallExecutor 가 담당
+        return calls.call(OP_QUOTE, KisCallExecutor.Retry.IDEMPOTENT, auth -> {
             var res = kisRestClient.get()
                     .uri(u -> u.path(PATH_PRICE)
                             .queryParam("AUTH", "")
@@ -55,29 +182,29 @@ public class KisQuoteService {
                     .accept(MediaType.APPLICATION_JSON)
                     .retrieve()
                     .body(PriceResponse.class);
+            return toLastTick(res, exchangeCode);
+        });
+    }
 
-            if (res == null || !"0".equals(res.rt_cd) || res.output == null || res.output.last == null) {
-                throw new IllegalStateException("현재가 조회 실패: " + (res != null ? res.msg_cd + "/" + res.msg1 : "null"));
-            }
-
-            Instant marketTs = null;
-            if (res.output.xymd != null && res.output.hms != null) {
-                marketTs = toMarketInstant(res.output.xymd, res.output.hms, exchangeCode);
-            }
-            if (marketTs == null) marketTs = Instant.now(); // 최후 보정
-
-            return new LastTick(res.output.last, marketTs);
+    /** 응답 본문 → LastTick. 실패 응답은 IllegalStateException */
+    static LastTick toLastTick(PriceResponse res, String exchangeCode) {
+        if (res == null || !"0".equals(res.rt_cd) || res.output == null || res.output.last == null) {
+            throw new IllegalStateException("현재가 조회 실패: " + (res != null ? res.msg_cd + "/" + res.msg1 : "null"));
+        }
 
-        } catch (HttpClientErrorException.Unauthorized e) {
-            tokenManager.forceRefresh();
-            return getLastTick(exchangeCode, symbol);
+        Instant marketTs = null;
+        if (res.output.xymd != null && res.output.hms != null) {
+            marketTs = toMarketInstant(res.output.xymd, res.output.hms, exchangeCode);
         }
+        if (marketTs == null) marketTs = Instant.now(); // 최후 보정
+
+        return new LastTick(res.output.last, marketTs);
     }
 
     public record LastTick(BigDecimal last, Instant marketTs) {}
 
     @JsonIgnoreProperties(ignoreUnknown = true)
-    private static final class PriceResponse {
+    static final class PriceResponse {
         @JsonProperty("rt_cd") String rt_cd;
         @JsonProperty("msg_cd") String msg_cd;
         @JsonProperty("msg1")   String msg1;
@@ -0,0 +1,135 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.KisClientProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * kisRestClient 앞단의 토큰버킷 스케줄러 — 모든 KIS REST 호출이 초당 permitsPerSecond(버스트 burst) 예산을 나눠 쓴다.
+ * 우선순위: ORDER(주문/해시키) > TOKEN(토큰 발급) > QUOTE(시세). 상위 레인이 기다리는 동안 하위 레인은 토큰을 못 가져간다.
+ * QUOTE 는 quoteMaxWaitMs 안에 토큰을 못 받으면 막히지 않고 버린다(KisRequestShedException) — 다음 폴링 주기가 다시 가져온다.
+ */
+@Component
+public class KisRequestScheduler implements ClientHttpRequestInterceptor {
+
+    public enum Lane { ORDER, TOKEN, QUOTE }
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final long quoteMaxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final int[] waiting = new int[Lane.values().length]; // guarded by lock
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    private final Map<Lane, Timer> waitTimers = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> shedCounters = new EnumMap<>(Lane.class);
+
+    public KisRequestScheduler(KisClientProps clientProps, MeterRegistry meters) {
+        var rl = clientProps.rateLimit();
+        this.permitsPerNano = rl.permitsPerSecond() / 1e9;
+        this.burst = rl.burst();
+        this.quoteMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(rl.quoteMaxWaitMs());
+        this.tokens = burst;
+
+        for (Lane lane : Lane.values()) {
+            String tag = lane.name().toLowerCase();
+            waitTimers.put(lane, Timer.builder("kis.scheduler.wait")
+                    .description("KIS 호출 토큰 대기 시간")
+                    .tag("lane", tag)
+                    .register(meters));
+            shedCounters.put(lane, Counter.builder("kis.scheduler.shed")
+                    .description("호출 한도로 버린 요청 수")
+                    .tag("lane", tag)
+                    .register(meters));
+            Gauge.builder("kis.scheduler.queue.depth", this, s -> s.waiting(lane))
+                    .description("토큰을 기다리는 요청 수")
+                    .tag("lane", tag)
+                    .register(meters);
+        }
+    }
+
+    static Lane laneOf(HttpRequest request) {
+        String path = request.getURI().getPath();
+        if (path.contains("/trading/") || path.endsWith("/hashkey")) return Lane.ORDER;
+        if (path.startsWith("/oauth2/")) return Lane.TOKEN;
+        return Lane.QUOTE;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        acquire(laneOf(request));
+        return execution.execute(request, body);
+    }
+
+    /** 토큰 1개 획득. QUOTE 는 제한 시간 초과 시 KisRequestShedException */
+    public void acquire(Lane lane) {
+        long start = System.nanoTime();
+        long deadline = lane == Lane.QUOTE ? start + quoteMaxWaitNanos : Long.MAX_VALUE;
+        lock.lock();
+        waiting[lane.ordinal()]++;
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                if (tokens >= 1 && !higherWaiting(lane)) {
+                    tokens -= 1;
+                    waitTimers.get(lane).record(now - start, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                if (now >= deadline) {
+                    shedCounters.get(lane).increment();
+                    throw new KisRequestShedException("KIS 호출 한도 초과로 요청 생략: " + lane);
+                }
+                long untilToken = tokens >= 1 ? TimeUnit.MILLISECONDS.toNanos(1) : (long) ((1 - tokens) / permitsPerNano);
+                changed.awaitNanos(Math.max(1, Math.min(untilToken, deadline - now)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("KIS 호출 대기 중 인터럽트", e);
+        } finally {
+            waiting[lane.ordinal()]--;
+            changed.signalAll(); // 하위 레인이 다시 확인하도록
+            lock.unlock();
+        }
+    }
+
+    /** 레인 대기 수 — 게이지 수집 스레드에서 읽으므로 락 안에서 */
+    int waiting(Lane lane) {
+        lock.lock();
+        try {
+            return waiting[lane.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+
+    private boolean higherWaiting(Lane lane) {
+        for (int i = 0; i < lane.ordinal(); i++) {
+            if (waiting[i] > 0) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+package com.stock.autostock.service;
+
+/**
+ * 호출 한도 때문에 낮은 우선순위 요청(시세)을 보내지 않고 버렸을 때
+ */
+public class KisRequestShedException extends IllegalStateException {
+
+    public KisRequestShedException(String message) {
+        super(message);
+    }
+}
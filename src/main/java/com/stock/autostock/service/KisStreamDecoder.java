@@ -0,0 +1,125 @@
+package com.stock.autostock.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * KIS 실시간 체결(HDFSCNT0) 프레임 디코더 — split/substring 없이 문자 단위로 훑어 원시값만 뽑는다.
+ * 프레임: {@code 0|HDFSCNT0|<건수>|RSYM^SYMB^ZDIV^TYMD^XYMD^XHMS^...^LAST^...} (레코드당 26필드, 건수만큼 이어짐)
+ * 스레드 안전하지 않음 — WebSocket 리스너 1개당 1개.
+ */
+public final class KisStreamDecoder {
+
+    public static final String TR_EXECUTION = "HDFSCNT0"; // 해외주식 실시간 체결가
+
+    private static final int FIELDS_PER_RECORD = 26;
+    private static final int F_SYMB = 1;
+    private static final int F_XYMD = 4;  // 거래소 현지 일자
+    private static final int F_XHMS = 5;  // 거래소 현지 시각
+    private static final int F_LAST = 11;
+
+    private final ZoneId zone;
+    private int cachedYmd = -1;
+    private long cachedDayStartEpochSec; // cachedYmd 00:00 현지 → epoch sec (정오 기준 오프셋)
+
+    public KisStreamDecoder(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /** 체결 1건 수신 콜백. 티커는 frame[symStart, symEnd) 구간 */
+    public interface Sink {
+        void onExecution(CharSequence frame, int symStart, int symEnd, long priceE8, long marketEpochSec);
+    }
+
+    /** 데이터 프레임이면 디코딩한 레코드 수, 제어(JSON)/암호화/다른 TR 프레임이면 -1 */
+    public int decode(CharSequence f, Sink sink) {
+        int len = f.length();
+        if (len < 2 || f.charAt(0) != '0' || f.charAt(1) != '|') return -1; // '1' = 암호화 프레임(체결통보), '{' = 제어
+
+        int p = 2;
+        int trEnd = indexOf(f, '|', p);
+        if (trEnd < 0 || !regionEquals(f, p, trEnd, TR_EXECUTION)) return -1;
+        p = trEnd + 1;
+        int cntEnd = indexOf(f, '|', p);
+        if (cntEnd < 0) return -1;
+        int count = (int) parseInt(f, p, cntEnd);
+        p = cntEnd + 1;
+
+        int decoded = 0;
+        for (int r = 0; r < count && p < len; r++) {
+            int symStart = 0, symEnd = 0, ymd = 0, hms = 0;
+            long price = 0;
+            for (int field = 0; field < FIELDS_PER_RECORD && p <= len; field++) {
+                int end = indexOf(f, '^', p);
+                if (end < 0) end = len;
+                switch (field) {
+                    case F_SYMB -> { symStart = p; symEnd = end; }
+                    case F_XYMD -> ymd = (int) parseInt(f, p, end);
+                    case F_XHMS -> hms = (int) parseInt(f, p, Math.min(end, p + 6));
+                    case F_LAST -> price = parseScaled(f, p, end);
+                    default -> { }
+                }
+                p = end + 1;
+            }
+            sink.onExecution(f, symStart, symEnd, price, toEpochSec(ymd, hms));
+            decoded++;
+        }
+        return decoded;
+    }
+
+    private long toEpochSec(int ymd, int hms) {
+        if (ymd != cachedYmd) {
+            // 서머타임 전환은 새벽 2시라 장 시간대 오프셋은 정오 기준으로 하루 고정
+            var date = LocalDate.of(ymd / 10000, (ymd / 100) % 100, ymd % 100);
+            int offset = zone.getRules().getOffset(date.atTime(LocalTime.NOON).atZone(zone).toInstant()).getTotalSeconds();
+            cachedDayStartEpochSec = date.toEpochDay() * 86_400L - offset;
+            cachedYmd = ymd;
+        }
+        int sec = (hms / 10000) * 3600 + ((hms / 100) % 100) * 60 + hms % 100;
+        return cachedDayStartEpochSec + sec;
+    }
+
+    /** "12.3456" → 1234560000 (1e-8 단위) */
+    static long parseScaled(CharSequence s, int from, int to) {
+        long v = 0;
+        int frac = -1;
+        boolean neg = false;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == '-') neg = true;
+            else if (c == '.') frac = 0;
+            else if (c >= '0' && c <= '9') {
+                if (frac >= 8) continue; // 8자리 초과 소수는 버림
+                v = v * 10 + (c - '0');
+                if (frac >= 0) frac++;
+            }
+        }
+        for (int k = Math.max(frac, 0); k < 8; k++) v *= 10;
+        return neg ? -v : v;
+    }
+
+    static long parseInt(CharSequence s, int from, int to) {
+        long v = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    static boolean regionEquals(CharSequence s, int from, int to, String expected) {
+        if (to - from != expected.length()) return false;
+        for (int i = 0; i < expected.length(); i++) {
+            if (s.charAt(from + i) != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence s, char c, int from) {
+        for (int i = from, n = s.length(); i < n; i++) {
+            if (s.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,284 @@
+package com.stock.autostock.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.config.KisProps;
+import com.stock.autostock.config.PriceIngestJobConfig.TickItem;
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.entity.BaseSymbolTick.PriceSource;
+import com.stock.autostock.entity.PriceHistoryRing;
+import com.stock.autostock.shard.ShardCoordinator;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KIS 실시간 체결 WebSocket 구독 → priceItemWriter(캐시 + 틱 저장)로 바로 흘려보낸다 (source=TICK_STREAM).
+ * 종목별 마지막 수신이 staleAfterMs 이내면 isLive=true 이고, 그동안 폴링 processor 는 그 종목을 건너뛴다.
+ * 끊기면 지수 백오프로 재연결하고, 그 사이에는 자연히 폴링으로 돌아간다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "ingest.stream", name = "enabled", havingValue = "true")
+public class KisTickStreamClient implements SmartLifecycle {
+
+    private static final String PATH_APPROVAL = "/oauth2/Approval";
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final RestClient kisRestClient;
+    private final KisProps kisProps;
+    private final IngestProps.Stream props;
+    private final ItemWriter<TickItem> writer;
+    private final Clock clock;
+    private final ObjectProvider<ShardCoordinator> shard;
+    private final WatchlistRegistry watchlist;
+    private final ObjectProvider<TickChangeFilter> changeFilter; // ingest.dedup.enabled=true 일 때만 존재
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final Map<TradableUs, Long> lastFrameNanos = new ConcurrentHashMap<>();
+    private final Set<TradableUs> subscribed = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService reconnector;
+    private volatile WebSocket socket;
+    private volatile String approvalKey;
+    private CompletableFuture<WebSocket> sends = CompletableFuture.completedFuture(null); // guarded by this
+    private volatile boolean running;
+    private long backoffMs = 1000;
+
+    public KisTickStreamClient(
+            @Qualifier("kisRestClient") RestClient kisRestClient,
+            KisProps kisProps,
+            IngestProps ingestProps,
+            @Qualifier("priceItemWriter") ItemWriter<TickItem> writer,
+            Clock clock,
+            ObjectProvider<ShardCoordinator> shard,
+            WatchlistRegistry watchlist,
+            ObjectProvider<TickChangeFilter> changeFilter
+    ) {
+        this.kisRestClient = kisRestClient;
+        this.kisProps = kisProps;
+        this.props = ingestProps.stream();
+        this.writer = writer;
+        this.clock = clock;
+        this.shard = shard;
+        this.watchlist = watchlist;
+        this.changeFilter = changeFilter;
+        watchlist.addListener(this::resubscribe);
+    }
+
+    /** 이 종목이 스트림으로 충분히 최근에 들어오고 있는가 */
+    public boolean isLive(TradableUs asset) {
+        if (socket == null) return false;
+        Long last = lastFrameNanos.get(asset);
+        return last != null && System.nanoTime() - last < TimeUnit.MILLISECONDS.toNanos(props.staleAfterMs());
+    }
+
+    private void connect() {
+        if (!running) return;
+        try {
+            String approvalKey = approvalKey();
+            http.newWebSocketBuilder()
+                    .buildAsync(URI.create(props.url()), new Listener(approvalKey))
+                    .whenComplete((ws, e) -> {
+                        if (e != null) {
+                            log.warn("tick stream connect failed: {}", e.toString());
+                            scheduleReconnect();
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.warn("tick stream approval failed: {}", e.toString());
+            scheduleReconnect();
+        }
+    }
+
+    private synchronized void scheduleReconnect() {
+        socket = null;
+        if (!running) return;
+        long delay = backoffMs;
+        backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        reconnector.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private String approvalKey() {
+        var res = kisRestClient.post()
+                .uri(PATH_APPROVAL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(
+                        "grant_type", "client_credentials",
+                        "appkey", kisProps.appKey(),
+                        "secretkey", kisProps.appSecret()))
+                .retrieve()
+                .body(ApprovalResponse.class);
+        if (res == null || res.approvalKey() == null) {
+            throw new IllegalStateException("KIS 실시간 접속키 발급 실패");
+        }
+        return res.approvalKey();
+    }
+
+    /** 관심종목과 현재 세션의 등록을 맞춤 — 추가분은 등록(tr_type 1), 빠진 종목은 해제(tr_type 2) */
+    void resubscribe() {
+        WebSocket ws = socket;
+        if (ws == null) return; // 연결 전/재연결 중 — onOpen 에서 전체 등록
+        List<TradableUs> assets = watchlist.assets();
+        for (TradableUs asset : assets) {
+            if (subscribed.add(asset)) send(ws, subscribeMessage(approvalKey, asset, "1"));
+        }
+        for (TradableUs asset : List.copyOf(subscribed)) {
+            if (!assets.contains(asset) && subscribed.remove(asset)) {
+                send(ws, subscribeMessage(approvalKey, asset, "2"));
+                lastFrameNanos.remove(asset);
+            }
+        }
+    }
+
+    /** 직전 send 가 끝나기 전에 다시 보내면 IllegalStateException → 순차 체이닝 */
+    private synchronized void send(WebSocket ws, String msg) {
+        sends = sends.exceptionally(e -> null).thenCompose(w -> ws.sendText(msg, true));
+    }
+
+    private String subscribeMessage(String approvalKey, TradableUs asset, String trType) {
+        // tr_key: D + 거래소 3자리 + 티커 (예: DNASIREN)
+        return """
+                {"header":{"approval_key":"%s","custtype":"%s","tr_type":"%s","content-type":"utf-8"},\
+                "body":{"input":{"tr_id":"%s","tr_key":"D%s%s"}}}"""
+                .formatted(approvalKey, kisProps.custType(), trType, KisStreamDecoder.TR_EXECUTION,
+                        asset.exchange().substring(0, 3), asset.ticker());
+    }
+
+    private void onExecution(CharSequence frame, int symStart, int symEnd, long priceE8, long marketEpochSec) {
+        TradableUs asset = null;
+        for (TradableUs a : watchlist.assets()) {
+            if (KisStreamDecoder.regionEquals(frame, symStart, symEnd, a.ticker())) {
+                asset = a;
+                break;
+            }
+        }
+        if (asset == null) return;
+        // 구독은 전 종목 유지(재분배 시 재구독 없이 바로 넘겨받도록) — 소유하지 않은 종목 체결은 버림
+        var coordinator = shard.getIfAvailable();
+        if (coordinator != null && !coordinator.owns(asset.ticker())) return;
+
+        lastFrameNanos.put(asset, System.nanoTime());
+        var item = new TickItem(asset, PriceHistoryRing.fromScaled(priceE8),
+                Instant.ofEpochSecond(marketEpochSec), Instant.now(clock), PriceSource.TICK_STREAM);
+        var filter = changeFilter.getIfAvailable();
+        if (filter != null) {
+            item = filter.process(item);
+            if (item == null) return; // 같은 초·같은 가격 체결 반복
+        }
+        try {
+            writer.write(Chunk.of(item));
+        } catch (Exception e) {
+            log.warn("tick stream write failed: {}", asset.ticker(), e);
+        }
+    }
+
+    private final class Listener implements WebSocket.Listener {
+
+        private final String approvalKey;
+        private final StringBuilder buf = new StringBuilder(512); // 프레임 조각 누적 — 재사용
+        private final KisStreamDecoder decoder = new KisStreamDecoder(KisQuoteService.zoneOf("NASD"));
+
+        Listener(String approvalKey) {
+            this.approvalKey = approvalKey;
+        }
+
+        @Override
+        public void onOpen(WebSocket ws) {
+            synchronized (KisTickStreamClient.this) {
+                backoffMs = 1000;
+                sends = CompletableFuture.completedFuture(ws); // 이전 세션의 send 체인과 분리
+            }
+            KisTickStreamClient.this.approvalKey = approvalKey;
+            subscribed.clear();
+            socket = ws;
+            resubscribe(); // 우선순위 순으로 전 종목 등록
+            ws.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            buf.append(data);
+            if (last) {
+                if (decoder.decode(buf, KisTickStreamClient.this::onExecution) < 0 && isPingPong(buf)) {
+                    ws.sendText(buf.toString(), true); // PINGPONG 은 그대로 되돌려줘야 세션 유지
+                }
+                buf.setLength(0);
+            }
+            ws.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+            log.warn("tick stream closed: {} {}", statusCode, reason);
+            scheduleReconnect();
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket ws, Throwable error) {
+            log.warn("tick stream error: {}", error.toString());
+            scheduleReconnect();
+        }
+
+        private boolean isPingPong(CharSequence s) {
+            return s.length() > 0 && s.charAt(0) == '{' && s.toString().contains("PINGPONG");
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        reconnector = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tick-stream-reconnect");
+            t.setDaemon(true);
+            return t;
+        });
+        reconnector.execute(this::connect);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        WebSocket ws = socket;
+        if (ws != null) ws.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown");
+        socket = null;
+        if (reconnector != null) {
+            reconnector.shutdownNow();
+            reconnector = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record ApprovalResponse(@JsonProperty("approval_key") String approvalKey) {
+    }
+}
@@ -2,9 +2,12 @@ package com.stock.autostock.service;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.stock.autostock.config.KisClientProps;
 import com.stock.autostock.config.KisProps;
 import com.stock.autostock.domain.OverseasOrder;
 import com.stock.autostock.domain.TradableUs;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
@@ -12,9 +15,20 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
 import java.math.BigDecimal;
-
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 해외주식 주문. 해시키 발급과 토큰 조회(bearer)를 겹쳐서 진행하고, 종목이 달라도 주문끼리 서로 기다리지 않는다.
+ * 동기 메서드(buyUsLimit 등)는 같은 비동기 경로의 결과를 기다릴 뿐이다.
+ */
 @Service
-public class KisTradingService {
+public class KisTradingService implements OrderGateway {
 
     private static final String TR_BUY_US = "JTTT1002U";
     private static final String TR_SELL_US = "JTTT1006U";
@@ -26,50 +40,67 @@ public class KisTradingService {
     private static final String HEADER_TR_ID = "tr_id";
     private static final String HEADER_HASHKEY = "hashkey";
 
+    public static final String OP_ORDER = "order";
+    public static final String OP_HASHKEY = "hashkey";
+
     private final KisProps props;
     private final RestClient restClient;
-    private final TokenManagerLean tokenManager;
+    private final KisCallExecutor calls;
+    private final ExecutorService orderPool;
+    private final boolean useHashKey;
+    private final MeterRegistry meters;
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>(); // side/outcome → 히스토그램
 
     public KisTradingService(
             KisProps props,
             @Qualifier("kisRestClient") RestClient restClient,
-            TokenManagerLean tokenManager
+            KisCallExecutor calls,
+            @Qualifier("kisOrderExecutor") ExecutorService orderPool,
+            KisClientProps clientProps,
+            MeterRegistry meters
     ) {
         this.props = props;
         this.restClient = restClient;
-        this.tokenManager = tokenManager;
+        this.calls = calls;
+        this.orderPool = orderPool;
+        this.useHashKey = clientProps.order().hashKey();
+        this.meters = meters;
+    }
+
+    @Override
+    public CompletableFuture<String> submit(Side side, TradableUs asset, int quantity, BigDecimal limitPrice) {
+        OverseasOrder body = limitPrice != null
+                ? OverseasOrder.limit(props.cano(), props.acntPrdtCd(), asset, quantity, limitPrice)
+                : OverseasOrder.market(props.cano(), props.acntPrdtCd(), asset, quantity);
+        return orderOverseasAsync(body, side == Side.BUY ? TR_BUY_US : TR_SELL_US, side);
     }
 
     public String buyUsLimit(TradableUs asset, int quantity, BigDecimal limitPrice) {
         OverseasOrder body = OverseasOrder.limit(
                 props.cano(), props.acntPrdtCd(), asset, quantity, limitPrice
         );
-        return orderOverseas(body, TR_BUY_US);
+        return orderOverseas(body, TR_BUY_US, Side.BUY);
     }
 
     public String buyUsMarket(TradableUs asset, int quantity) {
         OverseasOrder body = OverseasOrder.market(
                 props.cano(), props.acntPrdtCd(), asset, quantity
         );
-        return orderOverseas(body, TR_BUY_US);
+        return orderOverseas(body, TR_BUY_US, Side.BUY);
     }
 
     public String sellUsLimit(TradableUs asset, int quantity, BigDecimal limitPrice) {
         OverseasOrder body = OverseasOrder.limit(
                 props.cano(), props.acntPrdtCd(), asset, quantity, limitPrice
         );
-        return orderOverseas(body, TR_SELL_US);
+        return orderOverseas(body, TR_SELL_US, Side.SELL);
     }
 
     public String sellUsMarket(TradableUs asset, int quantity) {
         OverseasOrder body = OverseasOrder.market(
                 props.cano(), props.acntPrdtCd(), asset, quantity
         );
-        return orderOverseas(body, TR_SELL_US);
-    }
-
-    private String authorizationValue() {
-        return tokenManager.bearer();
+        return orderOverseas(body, TR_SELL_US, Side.SELL);
     }
 
     private String computeHashKey(Object jsonBody) {
@@ -92,36 +123,74 @@ public class KisTradingService {
                 .contentType(MediaType.APPLICATION_JSON)
                 .header(HEADER_AUTHORIZATION, authorization)
                 .header(HEADER_TR_ID, trId)
-                .header(HEADER_HASHKEY, hashKey)
+                .headers(h -> {
+                    if (hashKey != null) h.set(HEADER_HASHKEY, hashKey);
+                })
                 .body(requestBody)
                 .retrieve()
                 .body(OrderResponse.class);
     }
 
-    private String orderOverseas(OverseasOrder requestBody, String trId) {
+    private String orderOverseas(OverseasOrder requestBody, String trId, Side side) {
         try {
-            String hashKey = computeHashKey(requestBody);
-            String authorization = authorizationValue();
+            return orderOverseasAsync(requestBody, trId, side).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
 
-            OrderResponse res = executeOverseasOrder(requestBody, trId, hashKey, authorization);
+    /** CompletionException 을 몇 겹이든 벗겨 원래 예외로 — 체크 예외만 감싼다 */
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException re ? re : new IllegalStateException("해외주식 주문 실패", cause);
+    }
 
-            if (res == null || res.isNotOk()) {
-                throw new IllegalStateException("해외주식 주문 실패: " +
-                        (res != null ? res.messageCode() + " / " + res.message() : "null"));
-            }
-            String ordNo = res.orderNoOrNull();
-            return ordNo != null ? ordNo : "OK";
+    private static String await(CompletableFuture<String> hashKey) {
+        try {
+            return hashKey.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
 
-        } catch (HttpClientErrorException.Unauthorized e) {
-            tokenManager.forceRefresh();
+    /**
+     * 해시키 발급(/uapi/hashkey)을 먼저 띄워 두고, 주문 스레드는 그 결과를 받은 뒤에야 주문 회로를 잡는다.
+     * 해시키는 자기 회로(OP_HASHKEY, 토큰 없이, 5xx/I-O 재시도 가능)를 쓴다 — 같은 회로를 쓰면 half-open 시험 1건을
+     * 해시키와 주문이 나눠 가져 회로가 닫히지 못한다. 본문에만 의존하므로 401 재시도 때도 다시 받지 않는다.
+     */
+    private CompletableFuture<String> orderOverseasAsync(OverseasOrder requestBody, String trId, Side side) {
+        long start = System.nanoTime();
+        CompletableFuture<String> hashKey = useHashKey
+                ? CompletableFuture.supplyAsync(() -> calls.callWithoutToken(OP_HASHKEY, KisCallExecutor.Retry.IDEMPOTENT,
+                        () -> computeHashKey(requestBody)), orderPool)
+                : CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.supplyAsync(() -> placeOrder(requestBody, trId, hashKey), orderPool)
+                .whenComplete((ordNo, e) -> latencyTimer(side, e == null ? "ok" : "error")
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
 
-            String hashKey = computeHashKey(requestBody);
-            String authorization = authorizationValue();
+    /** 히스토그램이라 종목 태그는 달지 않음 — 종목별 주문 수는 strategy.signal 로 */
+    private Timer latencyTimer(Side side, String outcome) {
+        return latencyTimers.computeIfAbsent(side.name() + '/' + outcome, k -> Timer.builder("kis.order.latency")
+                .description("주문 송신 → 접수(주문번호) 지연")
+                .tag("side", side.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meters));
+    }
 
-            OrderResponse res = executeOverseasOrder(requestBody, trId, hashKey, authorization);
+    private String placeOrder(OverseasOrder requestBody, String trId, CompletableFuture<String> hashKey) {
+        try {
+            // 401 이면 토큰만 재발급 후 재전송 — 주문은 멱등이 아니라 5xx/I-O 는 재시도하지 않음
+            String key = await(hashKey); // 해시키 실패는 주문 회로에 들어가기 전에 그대로 전파
+            OrderResponse res = calls.call(OP_ORDER, KisCallExecutor.Retry.NON_IDEMPOTENT, authorization ->
+                    executeOverseasOrder(requestBody, trId, key, authorization));
 
             if (res == null || res.isNotOk()) {
-                throw new IllegalStateException("해외주식 주문 실패(재시도): " +
+                throw new IllegalStateException("해외주식 주문 실패: " +
                         (res != null ? res.messageCode() + " / " + res.message() : "null"));
             }
             String ordNo = res.orderNoOrNull();
@@ -0,0 +1,62 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.domain.TradableUs;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+
+/**
+ * 기존 종목별 테이블(tick_iren, tick_bitf, tick_clsk)이 남아 있으면 통합 tick 테이블로 옮긴다.
+ * MERGE 라 여러 번 돌아도 안전하고, drop-legacy=true 일 때만 원본 테이블을 지운다.
+ * 기존 데이터를 가진 파일/서버 DB 를 datasource 로 이어 쓸 때만 할 일이 있다 — 기본 in-memory H2 는 매 기동 빈 DB 라
+ * 종목별 테이블이 없어 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "ingest.store", name = "migrate-legacy", havingValue = "true", matchIfMissing = true)
+public class LegacyTickMigration implements ApplicationRunner {
+
+    private static final String MIGRATE_SQL =
+            "MERGE INTO tick (symbol_id, trading_day, exchange, last, market_ts, ingested_at, source, latency_ms) " +
+            "KEY (symbol_id, market_ts) " +
+            "SELECT ?, CAST((market_ts AT TIME ZONE ?) AS DATE), exchange, last, market_ts, ingested_at, source, latency_ms " +
+            "FROM %s";
+
+    private final JdbcTemplate jdbc;
+    private final SymbolInterner symbols;
+    private final IngestProps props;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        for (TradableUs asset : TradableUs.DEFAULTS) { // 종목별 테이블이 있던 시절의 고정 종목
+            String table = "tick_" + asset.ticker().toLowerCase(Locale.ROOT);
+            if (!exists(table)) continue;
+
+            int symbolId = symbols.intern(asset.ticker(), asset.exchange()).getId();
+            String zone = KisQuoteService.zoneOf(asset.exchange()).getId();
+            int moved = jdbc.update(MIGRATE_SQL.formatted(table), symbolId, zone);
+            log.info("legacy tick migration: {} -> tick ({} rows)", table, moved);
+
+            if (props.store().dropLegacy()) {
+                jdbc.execute("DROP TABLE " + table);
+            }
+        }
+    }
+
+    private boolean exists(String table) {
+        Integer n = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = ?",
+                Integer.class, table.toUpperCase(Locale.ROOT));
+        return n != null && n > 0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.MarketSessionProps;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.Set;
+
+/**
+ * 거래소 현지 시각 기준 세션 판정 — 주말/휴장일은 CLOSED, 조기 폐장일은 정규장과 시간외가 일찍 끝난다.
+ * 시간대를 모르는 거래소(KisQuoteService.hasSessionZone=false)는 항상 REGULAR 로 본다.
+ */
+@Component
+@EnableConfigurationProperties(MarketSessionProps.class)
+public class MarketSessionCalendar {
+
+    public enum Session { PRE, REGULAR, POST, CLOSED }
+
+    /** 폴링 강도 — 정규장 FULL, 시간외 SLOW, 장 닫힘 SUSPENDED */
+    public enum Mode { FULL, SLOW, SUSPENDED }
+
+    private final MarketSessionProps props;
+    private final Set<LocalDate> holidays;
+    private final Set<LocalDate> halfDays;
+
+    public MarketSessionCalendar(MarketSessionProps props) {
+        this.props = props;
+        this.holidays = Set.copyOf(props.holidays());
+        this.halfDays = Set.copyOf(props.halfDays());
+    }
+
+    public Session sessionAt(String exchange, Instant at) {
+        if (!props.enabled() || !KisQuoteService.hasSessionZone(exchange)) return Session.REGULAR;
+
+        ZonedDateTime local = at.atZone(KisQuoteService.zoneOf(exchange));
+        LocalDate day = local.toLocalDate();
+        DayOfWeek dow = day.getDayOfWeek();
+        if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY || holidays.contains(day)) return Session.CLOSED;
+
+        MarketSessionProps.Hours h = props.hours();
+        boolean half = halfDays.contains(day);
+        LocalTime t = local.toLocalTime();
+        LocalTime close = half ? h.earlyClose() : h.close();
+        LocalTime postClose = half ? h.earlyPostClose() : h.postClose();
+        if (t.isBefore(h.preOpen())) return Session.CLOSED;
+        if (t.isBefore(h.open())) return Session.PRE;
+        if (t.isBefore(close)) return Session.REGULAR;
+        if (t.isBefore(postClose)) return Session.POST;
+        return Session.CLOSED;
+    }
+
+    public Mode modeAt(String exchange, Instant at) {
+        return switch (sessionAt(exchange, at)) {
+            case REGULAR -> Mode.FULL;
+            case PRE, POST -> Mode.SLOW;
+            case CLOSED -> Mode.SUSPENDED;
+        };
+    }
+}
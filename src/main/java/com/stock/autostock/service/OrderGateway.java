@@ -0,0 +1,17 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.domain.TradableUs;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 비동기 주문 창구 — 호출 스레드는 바로 돌아가고, 주문번호는 future 로 받는다
+ */
+public interface OrderGateway {
+
+    enum Side { BUY, SELL }
+
+    /** limitPrice 가 null 이면 시장가 */
+    CompletableFuture<String> submit(Side side, TradableUs asset, int quantity, BigDecimal limitPrice);
+}
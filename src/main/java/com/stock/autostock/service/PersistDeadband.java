@@ -0,0 +1,53 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 보관용 솎아내기 — writer 의 저장/아카이브 분기에서만 쓴다. 캐시·지표·전략·SSE 는 모든 틱을 그대로 받는다.
+ * 마지막으로 저장한 가격 대비 deadbandBps 이내로만 움직인 틱은 저장하지 않는다. 기준은 저장한 틱이라
+ * 작은 변화가 누적돼 밴드를 넘으면 그때 저장되고, 밴드 안에 머물러도 maxGapMs(시장시각)마다 한 건은 남긴다.
+ */
+public class PersistDeadband {
+
+    private final BigDecimal deadband;     // 비율 (bps / 10000)
+    private final long maxGapMs;
+    private final Counter skipped;
+    private final ConcurrentHashMap<String, Stored> lastStored = new ConcurrentHashMap<>();
+
+    public PersistDeadband(IngestProps.Dedup props, MeterRegistry meters) {
+        this.deadband = BigDecimal.valueOf(props.deadbandBps()).movePointLeft(4);
+        this.maxGapMs = props.deadbandMaxGapMs();
+        this.skipped = meters.counter("price.ingest.dedup", "result", "deadband");
+    }
+
+    /** 저장할 틱이면 true 와 함께 기준을 이 틱으로 옮김 — 종목별로 원자적 */
+    public boolean shouldPersist(String ticker, BigDecimal last, Instant marketTs) {
+        boolean[] persist = new boolean[1];
+        lastStored.compute(ticker, (k, prev) -> {
+            if (prev != null
+                    && marketTs.toEpochMilli() - prev.marketTs().toEpochMilli() < maxGapMs
+                    && withinBand(prev.last(), last)) {
+                return prev;
+            }
+            persist[0] = true;
+            return new Stored(last, marketTs);
+        });
+        if (!persist[0]) skipped.increment();
+        return persist[0];
+    }
+
+    private boolean withinBand(BigDecimal prev, BigDecimal last) {
+        if (prev.signum() == 0) return last.signum() == 0;
+        BigDecimal move = last.subtract(prev).abs().divide(prev.abs(), MathContext.DECIMAL64);
+        return move.compareTo(deadband) < 0;
+    }
+
+    private record Stored(BigDecimal last, Instant marketTs) {}
+}
@@ -1,22 +1,45 @@
 package com.stock.autostock.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 @Component
-@RequiredArgsConstructor
 public class PriceIngestBatchRunner {
 
     private final JobLauncher jobLauncher;
     private final Job priceIngestJob;
+    private final Timer cycleTimer;
+
+    public PriceIngestBatchRunner(JobLauncher jobLauncher, @Qualifier("priceIngestJob") Job priceIngestJob,
+                                  MeterRegistry meters, Environment env) {
+        this.jobLauncher = jobLauncher;
+        this.priceIngestJob = priceIngestJob;
+        // 엔진 모드와 같은 이름/다른 태그 — 메타데이터 기록 비용을 나란히 비교하기 위함
+        this.cycleTimer = Timer.builder("price.ingest.cycle")
+                .description("시세 수집 1사이클(조회+저장) 소요 시간")
+                .tag("mode", "batch")
+                .tag("threads", Threading.VIRTUAL.isActive(env) ? "virtual" : "platform")
+                .register(meters);
+    }
 
     public void run() throws Exception {
-        jobLauncher.run(
-                priceIngestJob,
-                new JobParametersBuilder().addLong("ts", System.currentTimeMillis()).toJobParameters()
-        );
+        long start = System.nanoTime();
+        try {
+            jobLauncher.run(
+                    priceIngestJob,
+                    new JobParametersBuilder().addLong("ts", System.currentTimeMillis()).toJobParameters()
+            );
+        } finally {
+            cycleTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
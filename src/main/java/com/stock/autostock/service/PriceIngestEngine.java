@@ -0,0 +1,225 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.PriceIngestJobConfig.TickItem;
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.watchlist.PhaseSpread;
+import com.stock.autostock.watchlist.WatchlistEntry;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상주형 수집 엔진 — reader/processor/writer 를 한 번만 만들어 두고 종목별 주기로 직접 구동한다.
+ * 매 틱마다 JobInstance/JobExecution 메타데이터를 쓰지 않으므로 수집 비용은 시세 조회 + 저장뿐.
+ * 종목마다 자기 주기(watch_symbol.interval_ms)의 fixed-rate 슬롯을 갖고, 같은 주기 종목들은 {@link PhaseSpread} 로
+ * 주기 안에 고르게 흩어 둔다 — 요청이 매 초 정각에 몰려 rate limit 에서 밀리는 대신 균등하게 나간다.
+ * 관심종목이 바뀌면 추가·주기 변경 종목만 기존 슬롯 사이 빈 구간에 새로 배치하고, 나머지 슬롯은 위상을 그대로 둔다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "ingest", name = "mode", havingValue = "engine", matchIfMissing = true)
+public class PriceIngestEngine implements SmartLifecycle {
+
+    private final ItemProcessor<TradableUs, TickItem> processor;
+    private final ItemWriter<TickItem> writer;
+    private final TaskExecutor executor;
+    private final TransactionTemplate tx;
+    private final WatchlistRegistry watchlist;
+    private final KisCallExecutor calls;
+    private final Timer cycleTimer;
+    private final Counter overrun;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet(); // 조회 중인 종목 — 같은 종목 중복 조회 방지
+    private final Map<String, Slot> slots = new LinkedHashMap<>();      // 티커 → 예약된 슬롯, guarded by this
+
+    private ScheduledExecutorService scheduler;
+
+    public PriceIngestEngine(
+            @Qualifier("priceIngestProcessor") ItemProcessor<TradableUs, TickItem> processor,
+            @Qualifier("priceItemWriter") ItemWriter<TickItem> writer,
+            @Qualifier("priceIngestExecutor") TaskExecutor executor,
+            PlatformTransactionManager txManager,
+            WatchlistRegistry watchlist,
+            KisCallExecutor calls,
+            MeterRegistry meters,
+            Environment env
+    ) {
+        this.processor = processor;
+        this.writer = writer;
+        this.executor = executor;
+        this.tx = new TransactionTemplate(txManager);
+        this.watchlist = watchlist;
+        this.calls = calls;
+        this.cycleTimer = Timer.builder("price.ingest.cycle")
+                .description("종목 1회 수집(조회+저장) 소요 시간")
+                .tag("mode", "engine")
+                .tag("threads", Threading.VIRTUAL.isActive(env) ? "virtual" : "platform")
+                .register(meters);
+        this.overrun = Counter.builder("price.ingest.overrun")
+                .description("직전 조회가 주기 안에 끝나지 않아 건너뛴 슬롯 수 — 0 이 아니면 수집이 밀리는 중")
+                .register(meters);
+        watchlist.addListener(this::reschedule);
+    }
+
+    /**
+     * 관심종목 변경 반영 — 빠졌거나 거래소/주기가 바뀐 종목 슬롯만 끊고, 새로 필요한 슬롯은 같은 주기 슬롯들 사이
+     * 가장 넓은 빈 구간에 넣는다. 슬롯이 하나도 없으면(기동 직후) 전체를 {@link PhaseSpread} 로 고르게 배치.
+     */
+    synchronized void reschedule() {
+        if (scheduler == null) {
+            slots.values().forEach(s -> s.future().cancel(false));
+            slots.clear();
+            return;
+        }
+
+        List<WatchlistEntry> entries = watchlist.entries();
+        Map<String, WatchlistEntry> wanted = new HashMap<>();
+        for (WatchlistEntry e : entries) wanted.put(e.ticker(), e);
+        int before = slots.size();
+        slots.values().removeIf(s -> {
+            if (s.matches(wanted.get(s.entry().ticker()))) return false; // 우선순위만 바뀐 경우도 그대로
+            s.future().cancel(false);
+            return true;
+        });
+        int cancelled = before - slots.size();
+        slots.replaceAll((ticker, s) -> new Slot(wanted.get(ticker), s.future())); // 우선순위 등 최신 항목으로
+
+        List<WatchlistEntry> added = entries.stream().filter(e -> !slots.containsKey(e.ticker())).toList();
+        Map<String, Long> spread = slots.isEmpty() ? PhaseSpread.offsets(added) : Map.of();
+        for (WatchlistEntry e : added) {
+            Long offset = spread.get(e.ticker());
+            if (offset == null) {
+                List<Long> delays = slots.values().stream()
+                        .filter(s -> s.entry().intervalMs() == e.intervalMs())
+                        .map(s -> s.future().getDelay(TimeUnit.MILLISECONDS))
+                        .toList();
+                offset = PhaseSpread.insertOffset(e.intervalMs(), delays);
+            }
+            slots.put(e.ticker(), new Slot(e, scheduler.scheduleAtFixedRate(() -> poll(e.asset()),
+                    offset, e.intervalMs(), TimeUnit.MILLISECONDS)));
+        }
+        if (cancelled > 0 || !added.isEmpty()) {
+            log.info("ingest schedule: {} symbols ({} placed, {} cancelled)", slots.size(), added.size(), cancelled);
+        }
+    }
+
+    /** 종목의 현재 슬롯, 없으면 null */
+    synchronized ScheduledFuture<?> slotOf(String ticker) {
+        Slot s = slots.get(ticker);
+        return s == null ? null : s.future();
+    }
+
+    /** 슬롯 1회: 조회는 executor 로 넘기고 스케줄러 스레드는 바로 다음 슬롯으로. 예외는 삼켜서 슬롯을 살려둔다 */
+    void poll(TradableUs asset) {
+        if (!calls.allows(KisQuoteService.OP_QUOTE)) {
+            return; // upstream 장애로 회로 개방 — 닫힐 때까지 폴링 중단
+        }
+        if (!inFlight.add(asset.ticker())) {
+            overrun.increment(); // 직전 조회가 아직 진행 중 — 겹쳐 쌓지 않고 이번 슬롯은 건너뜀
+            return;
+        }
+        try {
+            executor.execute(() -> collect(asset));
+        } catch (TaskRejectedException e) {
+            inFlight.remove(asset.ticker());
+            overrun.increment();
+        }
+    }
+
+    private void collect(TradableUs asset) {
+        long start = System.nanoTime();
+        try {
+            TickItem item = fetch(asset);
+            if (item != null) {
+                tx.executeWithoutResult(s -> write(List.of(item)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("price ingest failed: {}", asset.ticker(), e);
+        } finally {
+            inFlight.remove(asset.ticker());
+            cycleTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private TickItem fetch(TradableUs asset) {
+        try {
+            return processor.process(asset);
+        } catch (KisRequestShedException | KisCircuitOpenException e) {
+            log.debug("quote skipped: {} ({})", asset.ticker(), e.getMessage());
+            return null;
+        } catch (Exception e) {
+            // 한 종목 실패가 다른 종목 수집을 막지 않도록 건너뜀
+            log.warn("quote fetch failed: {}", asset.ticker(), e);
+            return null;
+        }
+    }
+
+    private void write(List<TickItem> items) {
+        try {
+            writer.write(new Chunk<>(items));
+        } catch (Exception e) {
+            throw new IllegalStateException("시세 저장 실패", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        synchronized (this) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "price-ingest-engine");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        reschedule();
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdown();
+                scheduler = null;
+            }
+        }
+        reschedule(); // 슬롯 정리
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /** 종목 하나의 fixed-rate 슬롯 — 거래소/주기가 같으면 관심종목이 바뀌어도 유지 */
+    private record Slot(WatchlistEntry entry, ScheduledFuture<?> future) {
+
+        boolean matches(WatchlistEntry e) {
+            return e != null && e.asset().equals(entry.asset()) && e.intervalMs() == entry.intervalMs();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.stock.autostock.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolPriceCache.Snapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시 최신값 갱신을 SSE 구독자 전원에게 전달.
+ * 스냅샷당 JSON 직렬화는 1번, 전송은 전용 스레드 하나에서 — 구독자가 늘어도 캐시/브로커 부하는 그대로이고
+ * 느린 구독자가 수집 writer 를 막지 않는다. 전송이 밀리면 가장 오래된 스냅샷부터 버림.
+ */
+@Slf4j
+@Component
+public class PriceStreamBroadcaster implements SymbolPriceCache.Listener, SmartLifecycle {
+
+    private final ObjectMapper mapper;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final Counter dropped;
+
+    private final ThreadPoolExecutor sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1024),
+            r -> {
+                Thread t = new Thread(r, "price-sse");
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.DiscardOldestPolicy());
+
+    private volatile boolean running;
+
+    public PriceStreamBroadcaster(SymbolPriceCache cache, ObjectMapper mapper, MeterRegistry meters) {
+        this.mapper = mapper;
+        this.dropped = meters.counter("price.sse.dropped");
+        meters.gaugeCollectionSize("price.sse.subscribers", List.of(), emitters);
+        cache.addListener(this);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(0L); // 타임아웃 없음 — 끊기면 onCompletion/onError 로 정리
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    @Override
+    public void onUpdate(Snapshot latest) {
+        if (!running || emitters.isEmpty()) return; // 구독자 없으면 직렬화도 안 함
+        String json;
+        try {
+            json = mapper.writeValueAsString(latest);
+        } catch (JsonProcessingException e) {
+            log.warn("snapshot serialize failed: {}", latest.ticker(), e);
+            return;
+        }
+        if (sender.getQueue().remainingCapacity() == 0) dropped.increment(); // 아래 execute 가 가장 오래된 것을 버림
+        sender.execute(() -> broadcast(latest.ticker(), json));
+    }
+
+    private void broadcast(String ticker, String json) {
+        // build() 는 호출할 때마다 빌더에 줄바꿈을 덧붙이므로 한 번만 — 만든 조각 묶음을 모든 구독자에게 그대로
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event()
+                .name("price")
+                .id(ticker)
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter); // 끊긴 구독자
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        sender.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+        emitters.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
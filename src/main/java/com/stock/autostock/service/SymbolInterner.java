@@ -0,0 +1,38 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.entity.TickSymbol;
+import com.stock.autostock.entity.TickSymbolRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 티커 문자열 → TickSymbol(작은 정수 id) 인터닝. 최초 1회만 DB 조회/등록, 이후는 메모리 조회
+ */
+@Component
+@RequiredArgsConstructor
+public class SymbolInterner {
+
+    private final TickSymbolRepository repo;
+    private final Map<String, TickSymbol> byTicker = new ConcurrentHashMap<>();
+
+    public TickSymbol intern(String ticker, String exchange) {
+        TickSymbol s = byTicker.get(ticker);
+        if (s != null) return s;
+        return byTicker.computeIfAbsent(ticker, k -> load(k, exchange));
+    }
+
+    private TickSymbol load(String ticker, String exchange) {
+        return repo.findByTicker(ticker).orElseGet(() -> {
+            try {
+                return repo.save(new TickSymbol(ticker, exchange));
+            } catch (DataIntegrityViolationException e) {
+                // 다른 노드/스레드가 먼저 등록한 경우
+                return repo.findByTicker(ticker).orElseThrow(() -> e);
+            }
+        });
+    }
+}
@@ -0,0 +1,140 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.entity.SymbolTick;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 틱 저장 전용 계층 — JpaRepository.save(IDENTITY 단건 insert) 대신 모았다가 JDBC batch 로 flush.
+ * flush 조건: 대기 건수 >= flushSize 이거나 flushIntervalMs 경과.
+ * (symbol_id, market_ts) 중복은 MERGE ... KEY 로 덮어써서(upsert) 청크 전체가 실패하지 않게 한다.
+ * batch 가 실패하면 꺼낸 행을 maxPending 까지 대기열에 되돌려 다음 flush 에 다시 쓴다 (MERGE 라 재기록해도 안전).
+ */
+@Slf4j
+@Component
+public class TickBatchWriter implements SmartLifecycle {
+
+    private static final String MERGE_SQL =
+            "MERGE INTO tick (symbol_id, trading_day, exchange, last, market_ts, ingested_at, source, latency_ms) " +
+            "KEY (symbol_id, market_ts) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final IngestProps.Writer props;
+    private final Queue<SymbolTick> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Counter dropped;
+    private volatile long retryAfterNanos;  // 실패 직후엔 add 가 flush 를 재촉하지 않음 — 주기 flusher 가 재시도
+
+    private ScheduledExecutorService flusher;
+
+    public TickBatchWriter(JdbcTemplate jdbc, IngestProps ingestProps, MeterRegistry meters) {
+        this.jdbc = jdbc;
+        this.props = ingestProps.writer();
+        this.dropped = Counter.builder("tick.write.dropped")
+                .description("저장 실패 후 대기열 한도를 넘어 버린 틱 수")
+                .register(meters);
+        meters.gauge("tick.write.pending", size);
+        this.retryAfterNanos = System.nanoTime(); // nanoTime 은 음수일 수도 있어 0 이 아닌 현재 시각을 기준으로
+    }
+
+    /** 버퍼에 적재. flushSize 에 도달하면 호출 스레드에서 즉시 flush — 실패해도 행은 대기열에 남으므로 수집은 계속 */
+    public void add(SymbolTick tick) {
+        queue.add(tick);
+        if (size.incrementAndGet() >= props.flushSize() && System.nanoTime() - retryAfterNanos >= 0) {
+            flushQuietly();
+        }
+    }
+
+    /** 대기분을 즉시 기록 */
+    public synchronized void flush() {
+        // flush 는 직렬화 — 여러 스레드가 동시에 임계치를 넘어도 한 번만 배치 실행
+        List<SymbolTick> batch = new ArrayList<>(Math.max(size.get(), 1));
+        SymbolTick t;
+        while ((t = queue.poll()) != null) {
+            batch.add(t);
+        }
+        if (batch.isEmpty()) return;
+        size.addAndGet(-batch.size());
+
+        try {
+            jdbc.batchUpdate(MERGE_SQL, batch, props.flushSize(), (ps, tick) -> {
+                ps.setInt(1, tick.getSymbol().getId());
+                ps.setDate(2, Date.valueOf(tick.getTradingDay()));
+                ps.setString(3, tick.getExchange());
+                ps.setBigDecimal(4, tick.getLast());
+                ps.setTimestamp(5, Timestamp.from(tick.getMarketTs()));
+                ps.setTimestamp(6, Timestamp.from(tick.getIngestedAt()));
+                ps.setString(7, tick.getSource().name());
+                ps.setLong(8, tick.getLatencyMs());
+            });
+        } catch (RuntimeException e) {
+            retryAfterNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(props.flushIntervalMs());
+            requeue(batch);
+            throw e;
+        }
+    }
+
+    /** 실패한 batch 를 대기열 뒤로 — 한도를 넘는 만큼은 오래된 것부터 버림 (flush 안에서만 호출) */
+    private void requeue(List<SymbolTick> batch) {
+        int room = Math.max(0, props.maxPending() - size.get());
+        int keep = Math.min(room, batch.size());
+        int lost = batch.size() - keep;
+        for (SymbolTick t : batch.subList(lost, batch.size())) {
+            queue.add(t);
+        }
+        size.addAndGet(keep);
+        if (lost > 0) {
+            dropped.increment(lost);
+            log.warn("tick batch flush failed, dropped {} of {} ticks (pending limit {})", lost, batch.size(), props.maxPending());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("tick batch flush failed", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tick-batch-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly,
+                props.flushIntervalMs(), props.flushIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher = null;
+        }
+        flushQuietly(); // 종료 시 남은 버퍼 기록
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.PriceIngestJobConfig.TickItem;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolPriceCache.Snapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.batch.item.ItemProcessor;
+
+/**
+ * 조회 결과를 캐시 최신값과 비교해 아무것도 바뀌지 않은 틱을 writer 앞에서 버린다 (null = 필터).
+ * marketTs 와 last 가 최신값과 같음(같은 시세를 다시 받음) 또는 marketTs 가 더 과거(늦게 도착) —
+ * DB 는 (symbol_id, market_ts) MERGE 로 같은 행을 덮어쓸 뿐이므로 저장/봉/리스너 모두 생략.
+ * 같은 초 안의 다른 가격은 실제 변화라 통과 (scale 만 다른 값은 compareTo 로 같게 본다).
+ * 가격 변화 폭에 따른 솎아내기는 저장 분기에서만 — {@link PersistDeadband}.
+ * 건너뛴 비율은 카운터로 rate(result="duplicate") / rate(전체) 로 본다.
+ */
+public class TickChangeFilter implements ItemProcessor<TickItem, TickItem> {
+
+    private final SymbolPriceCache cache;
+    private final Counter passed;
+    private final Counter duplicate;
+
+    public TickChangeFilter(SymbolPriceCache cache, MeterRegistry meters) {
+        this.cache = cache;
+        this.passed = meters.counter("price.ingest.dedup", "result", "passed");
+        this.duplicate = meters.counter("price.ingest.dedup", "result", "duplicate");
+    }
+
+    @Override
+    public TickItem process(TickItem item) {
+        Snapshot prev = cache.currentFresh(item.asset().ticker()).orElse(null);
+        if (prev != null) {
+            int ts = item.marketTs().compareTo(prev.marketTs());
+            if (ts < 0 || (ts == 0 && item.last().compareTo(prev.last()) == 0)) {
+                duplicate.increment();
+                return null;
+            }
+        }
+        passed.increment();
+        return item;
+    }
+}
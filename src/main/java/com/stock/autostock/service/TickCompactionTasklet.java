@@ -0,0 +1,137 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.RetentionProps;
+import com.stock.autostock.domain.BarResolution;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 만료된 trading_day 를 하루씩(실행 1회 = 1 트랜잭션) 처리:
+ * 원시 틱으로 1m/5m/1h 봉을 다시 집계해 MERGE(수집 중 놓친 봉 보충, 멱등) 하고, 설정 시 gzip CSV 로 보관.
+ * 원시 행 삭제는 다음 단계({@link ChunkedDeleteTasklet})가 청크 단위로 한다.
+ */
+@Slf4j
+public class TickCompactionTasklet implements Tasklet {
+
+    private static final String LAST_DAY_KEY = "compaction.lastDay";
+    private static final BarResolution[] ROLLUPS = {BarResolution.M1, BarResolution.M5, BarResolution.H1};
+
+    private final JdbcTemplate jdbc;
+    private final BarAggregator bars;
+    private final RetentionProps.Archive archive;
+    private final LocalDate cutoff;
+
+    public TickCompactionTasklet(JdbcTemplate jdbc, BarAggregator bars, RetentionProps.Archive archive, LocalDate cutoff) {
+        this.jdbc = jdbc;
+        this.bars = bars;
+        this.archive = archive;
+        this.cutoff = cutoff;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        ExecutionContext ctx = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        String lastDone = ctx.getString(LAST_DAY_KEY, null);
+
+        LocalDate day = lastDone == null
+                ? jdbc.queryForObject("SELECT MIN(trading_day) FROM tick WHERE trading_day < ?",
+                        LocalDate.class, Date.valueOf(cutoff))
+                : jdbc.queryForObject("SELECT MIN(trading_day) FROM tick WHERE trading_day > ? AND trading_day < ?",
+                        LocalDate.class, Date.valueOf(LocalDate.parse(lastDone)), Date.valueOf(cutoff));
+        if (day == null) return RepeatStatus.FINISHED;
+
+        int rows = compact(day);
+        contribution.incrementReadCount();
+        contribution.incrementWriteCount(rows);
+        ctx.putString(LAST_DAY_KEY, day.toString()); // 재시작 시 이어서
+        log.info("compacted trading_day={} rows={}", day, rows);
+        return RepeatStatus.CONTINUABLE;
+    }
+
+    private int compact(LocalDate day) throws IOException {
+        Path tmp = null;
+        Writer csv = null;
+        if (archive.enabled()) {
+            Path dir = Files.createDirectories(Path.of(archive.dir()));
+            tmp = Files.createTempFile(dir, "tick-" + day, ".tmp");
+            csv = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8));
+            csv.write("ticker,exchange,last,market_ts,ingested_at,source,latency_ms\n");
+        }
+
+        List<BarAggregator.ClosedBar> out = new ArrayList<>();
+        BarAggregator.OpenBar[] open = new BarAggregator.OpenBar[ROLLUPS.length];
+        int[] current = {-1};
+        int[] rows = {0};
+        Writer sink = csv;
+
+        try {
+            jdbc.query("SELECT t.symbol_id, s.ticker, t.exchange, t.last, t.market_ts, t.ingested_at, t.source, t.latency_ms " +
+                            "FROM tick t JOIN tick_symbol s ON s.id = t.symbol_id " +
+                            "WHERE t.trading_day = ? ORDER BY t.symbol_id, t.market_ts",
+                    rs -> {
+                        int symbolId = rs.getInt(1);
+                        if (symbolId != current[0]) {            // 종목 바뀜 — 이전 종목 봉 마감
+                            drain(open, current[0], out);
+                            for (int i = 0; i < open.length; i++) open[i] = new BarAggregator.OpenBar(ROLLUPS[i]);
+                            current[0] = symbolId;
+                        }
+                        var ts = rs.getTimestamp(5).toInstant();
+                        var last = rs.getBigDecimal(4);
+                        for (BarAggregator.OpenBar bar : open) {
+                            var done = bar.add(symbolId, ts, last);
+                            if (done != null) out.add(done);
+                        }
+                        rows[0]++;
+                        if (sink != null) {
+                            try {
+                                sink.write(rs.getString(2) + ',' + rs.getString(3) + ',' + last.toPlainString() + ','
+                                        + ts + ',' + rs.getTimestamp(6).toInstant() + ','
+                                        + rs.getString(7) + ',' + rs.getLong(8) + '\n');
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                    },
+                    Date.valueOf(day));
+            drain(open, current[0], out);
+            bars.write(out);
+        } finally {
+            if (csv != null) csv.close();
+        }
+
+        if (tmp != null) {
+            Files.move(tmp, tmp.resolveSibling("tick-" + day + ".csv.gz"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return rows[0];
+    }
+
+    private static void drain(BarAggregator.OpenBar[] open, int symbolId, List<BarAggregator.ClosedBar> out) {
+        if (symbolId < 0) return;
+        for (BarAggregator.OpenBar bar : open) {
+            var last = bar.snapshot(symbolId);
+            if (last != null) out.add(last);
+        }
+    }
+}
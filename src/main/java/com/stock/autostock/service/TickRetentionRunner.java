@@ -0,0 +1,48 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.RetentionProps;
+import com.stock.autostock.shard.ShardCoordinator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TickRetentionRunner {
+
+    private final JobLauncher jobLauncher;
+    private final Job tickRetentionJob;
+    private final RetentionProps props;
+    private final ObjectProvider<ShardCoordinator> shard;
+
+    public TickRetentionRunner(JobLauncher jobLauncher, @Qualifier("tickRetentionJob") Job tickRetentionJob,
+                               RetentionProps props, ObjectProvider<ShardCoordinator> shard) {
+        this.jobLauncher = jobLauncher;
+        this.tickRetentionJob = tickRetentionJob;
+        this.props = props;
+        this.shard = shard;
+    }
+
+    /** cutoff 미만 trading_day 를 정리. 같은 날 재실행이 가능하도록 실행 시각도 파라미터에 포함 */
+    public void run() throws Exception {
+        var coordinator = shard.getIfAvailable();
+        if (coordinator != null && !coordinator.isLeader()) {
+            log.debug("retention skipped: {} is not shard leader", coordinator.nodeId()); // 공유 DB 는 리더 한 곳만 정리
+            return;
+        }
+        LocalDate cutoff = LocalDate.now(ZoneId.of(props.zone())).minusDays(props.keepDays());
+        jobLauncher.run(tickRetentionJob, new JobParametersBuilder()
+                .addLocalDate("cutoff", cutoff)
+                .addLong("ts", System.currentTimeMillis())
+                .toJobParameters());
+    }
+}
@@ -1,34 +1,57 @@
 package com.stock.autostock.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.http.MediaType;
 import org.springframework.web.client.RestClient;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 접근 토큰 관리. 기동 시 저장된 토큰을 복원하고, 만료 refreshAheadSec 전에 백그라운드로 갱신해 둔다 —
+ * 평소 bearer() 는 volatile 읽기 한 번. 만료 임박(REFRESH_MARGIN_SEC) 시의 동기 발급은 백그라운드가 실패했을 때의 안전망.
+ */
+@Slf4j
 @RequiredArgsConstructor
-public class TokenManagerLean {
+public class TokenManagerLean implements SmartLifecycle {
 
     private static final long REFRESH_MARGIN_SEC = 60; // 만료 60초 전이면 갱신
+    private static final long FAILURE_COOLDOWN_MS = 1000; // 발급 실패 직후엔 upstream 재호출 없이 바로 실패
+    private static final long BACKGROUND_RETRY_SEC = 10;  // 백그라운드 갱신 실패 시 재시도 간격
     private final RestClient rest;
     private final String appKey;
     private final String appSecret;
+    private final Clock clock;    // 리플레이 시 시뮬레이션 시계
+    private final TokenStore store;       // null = 영속화 안 함
+    private final long refreshAheadSec;   // <= 0 = 백그라운드 갱신 안 함
     private final ReentrantLock lock = new ReentrantLock();
     private volatile Token token; // 읽기 빠르게
+    private long lastFailureAt;   // lock 안에서만 접근
+    private RuntimeException lastFailure;
+    private ScheduledExecutorService refresher;
+    private ScheduledFuture<?> nextRefresh; // lock 안에서만 접근
 
     /** 항상 유효한 Authorization 문자열("Bearer ...") 반환 */
     public String bearer() {
         Token t = token;
-        if (t != null && Instant.now().isBefore(t.expires().minusSeconds(REFRESH_MARGIN_SEC))) {
+        if (t != null && Instant.now(clock).isBefore(t.expires().minusSeconds(REFRESH_MARGIN_SEC))) {
             return t.value();
         }
         lock.lock();
         try {
             t = token;
-            if (t == null || Instant.now().isAfter(t.expires().minusSeconds(REFRESH_MARGIN_SEC))) {
-                token = fetchToken();
+            if (t == null || Instant.now(clock).isAfter(t.expires().minusSeconds(REFRESH_MARGIN_SEC))) {
+                install(fetchTokenOnce());
             }
             return token.value();
         } finally {
@@ -40,13 +63,134 @@ public class TokenManagerLean {
     public String forceRefresh() {
         lock.lock();
         try {
-            token = fetchToken();
+            install(fetchTokenOnce());
             return token.value();
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * 401 을 받은 토큰(rejected)이 아직 현재 토큰일 때만 재발급 — 동시에 401 을 받은 스레드가 여럿이어도 발급은 1회.
+     * 이미 다른 스레드가 바꿔 뒀으면 새 토큰을 그대로 반환.
+     */
+    public String refreshIfCurrent(String rejected) {
+        lock.lock();
+        try {
+            Token t = token;
+            if (t == null || t.value().equals(rejected)) {
+                install(fetchTokenOnce());
+            }
+            return token.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * lock 안에서 호출 — 새 토큰 반영, 저장, 다음 갱신 예약. 저장은 보통 백그라운드 스레드에서, start() 전/stop() 후라
+     * 그 스레드가 없으면 호출 스레드에서 바로 — 어느 경우든 발급한 토큰은 저장된다.
+     */
+    private void install(Token t) {
+        token = t;
+        ScheduledExecutorService r = refresher;
+        if (store != null) {
+            TokenStore.Stored stored = new TokenStore.Stored(t.value(), t.expires());
+            if (r == null) {
+                store.save(stored); // 시작 전/종료 후
+            } else {
+                try {
+                    r.execute(() -> store.save(stored));
+                } catch (RejectedExecutionException e) {
+                    store.save(stored); // 종료 중
+                }
+            }
+        }
+        scheduleRefresh(t);
+    }
+
+    /** lock 안에서 호출 */
+    private void scheduleRefresh(Token t) {
+        ScheduledExecutorService r = refresher;
+        if (r == null || refreshAheadSec <= 0) return;
+        if (nextRefresh != null) nextRefresh.cancel(false);
+        long delay = t == null ? 0
+                : Math.max(0, Duration.between(Instant.now(clock), t.expires().minusSeconds(refreshAheadSec)).toSeconds());
+        nextRefresh = r.schedule(this::refreshInBackground, delay, TimeUnit.SECONDS);
+    }
+
+    private void refreshInBackground() {
+        lock.lock();
+        try {
+            Token t = token;
+            if (t == null || !Instant.now(clock).isBefore(t.expires().minusSeconds(refreshAheadSec))) {
+                install(fetchTokenOnce());
+                log.info("KIS token refreshed in background, expires {}", token.expires());
+            } else {
+                scheduleRefresh(t); // 그 사이 다른 경로(401 재발급 등)로 이미 바뀜
+            }
+        } catch (RuntimeException e) {
+            log.warn("background KIS token refresh failed, retrying in {}s", BACKGROUND_RETRY_SEC, e);
+            ScheduledExecutorService r = refresher;
+            if (r != null) nextRefresh = r.schedule(this::refreshInBackground, BACKGROUND_RETRY_SEC, TimeUnit.SECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 저장된 토큰 복원(유효할 때만) 후 갱신 예약 — 토큰이 없으면 곧바로 백그라운드 발급해 첫 호출을 기다리지 않게 */
+    @Override
+    public void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread th = new Thread(r, "kis-token-refresher");
+            th.setDaemon(true);
+            return th;
+        });
+        lock.lock();
+        try {
+            if (store != null && token == null) {
+                store.load()
+                        .filter(s -> Instant.now(clock).isBefore(s.expires().minusSeconds(REFRESH_MARGIN_SEC)))
+                        .ifPresent(s -> {
+                            token = new Token(s.value(), s.expires());
+                            log.info("reusing stored KIS token, expires {}", s.expires());
+                        });
+            }
+            scheduleRefresh(token);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService r = refresher;
+        refresher = null;
+        if (r != null) r.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return refresher != null;
+    }
+
+    /** lock 안에서 호출. 직전 실패 후 쿨다운 동안은 upstream 을 두드리지 않고 같은 실패를 던진다 */
+    private Token fetchTokenOnce() {
+        long now = clock.millis();
+        if (lastFailure != null && now - lastFailureAt < FAILURE_COOLDOWN_MS) {
+            throw lastFailure;
+        }
+        try {
+            Token t = fetchToken();
+            lastFailure = null;
+            return t;
+        } catch (RuntimeException e) {
+            lastFailure = e;
+            lastFailureAt = now;
+            throw e;
+        }
+    }
+
     private Token fetchToken() {
         var body = Map.of(
                 "grant_type", "client_credentials",
@@ -64,7 +208,7 @@ public class TokenManagerLean {
         }
         long ttl = Math.min(res.expires_in(), 23 * 3600); // 안전하게 23h로 캡
         return new Token(res.token_type() + " " + res.access_token(),
-                Instant.now().plusSeconds(ttl));
+                Instant.now(clock).plusSeconds(ttl));
     }
 
     private record TokenResponse(String access_token, String token_type, long expires_in) {}
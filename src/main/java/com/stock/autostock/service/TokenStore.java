@@ -0,0 +1,18 @@
+package com.stock.autostock.service;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 접근 토큰 영속화 — 재기동 시 /oauth2/tokenP 재호출(일 단위 발급 제한)을 피하기 위함
+ */
+public interface TokenStore {
+
+    /** 저장된 토큰, 없거나 읽을 수 없으면 empty */
+    Optional<Stored> load();
+
+    void save(Stored token);
+
+    /** value 는 Authorization 헤더 값 그대로 ("Bearer ...") */
+    record Stored(String value, Instant expires) {}
+}
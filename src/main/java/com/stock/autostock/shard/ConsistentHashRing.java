@@ -0,0 +1,53 @@
+package com.stock.autostock.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 일관 해시 링 (불변). 노드마다 virtualNodes 개 지점을 두고, 종목은 해시 이후 첫 지점의 노드가 소유.
+ * 노드 하나가 들어오거나 나가면 대략 1/N 종목만 주인이 바뀐다.
+ */
+public final class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final List<String> nodes;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        this.nodes = nodeIds.stream().sorted().toList();
+        for (String node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + '#' + i), node);
+            }
+        }
+    }
+
+    /** 소유 노드, 노드가 없으면 null */
+    public String ownerOf(String ticker) {
+        if (ring.isEmpty()) return null;
+        Map.Entry<Long, String> e = ring.ceilingEntry(hash(ticker));
+        return (e != null ? e : ring.firstEntry()).getValue();
+    }
+
+    /** 정렬된 노드 목록 */
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    /** FNV-1a 64 + murmur3 fmix64 — 짧은 문자열도 링 전체에 고르게 퍼지게 */
+    static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,180 @@
+package com.stock.autostock.shard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolPriceCache.Snapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 다른 노드의 /api/prices/stream(SSE)을 구독해 그 노드가 소유한 종목의 최신값을 로컬 캐시에 반영한다.
+ * 그래서 어느 노드에 물어도 /api/prices, 지표, SSE 가 전 종목을 보여준다 (저장/봉/전략은 소유 노드만).
+ * 보낸 노드가 소유한 종목만 받으므로, 내가 복제해 다시 내보낸 값이 되돌아와도 무시된다.
+ * 멤버 변화는 하트비트 주기로 맞추고, 끊긴 연결은 지수 백오프로 재연결.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shard", name = {"enabled", "replicate"}, havingValue = "true")
+public class PeerFeedClient implements SmartLifecycle {
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final ShardCoordinator shard;
+    private final SymbolPriceCache cache;
+    private final ObjectMapper mapper;
+    private final ShardProps props;
+    private final Counter received;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService reconciler;
+    private volatile boolean running;
+
+    public PeerFeedClient(ShardCoordinator shard, SymbolPriceCache cache, ObjectMapper mapper,
+                          ShardProps props, MeterRegistry meters) {
+        this.shard = shard;
+        this.cache = cache;
+        this.mapper = mapper;
+        this.props = props;
+        this.received = meters.counter("shard.replicated");
+        meters.gaugeMapSize("shard.peer.feeds", List.of(), feeds);
+    }
+
+    /** 살아 있는 peer 마다 구독 1개 — 빠진 peer 는 끊고, endpoint 가 바뀐 peer 는 새로 연결 */
+    void reconcile() {
+        Map<String, String> peers = shard.peers();
+        feeds.entrySet().removeIf(e -> {
+            boolean gone = !e.getValue().endpoint.equals(peers.get(e.getKey()));
+            if (gone) e.getValue().close();
+            return gone;
+        });
+        peers.forEach((node, endpoint) -> feeds.computeIfAbsent(node, n -> {
+            Feed f = new Feed(n, endpoint);
+            f.start();
+            return f;
+        }));
+    }
+
+    void accept(String peer, String json) {
+        Snapshot s;
+        try {
+            s = mapper.readValue(json, Snapshot.class);
+        } catch (JsonProcessingException e) {
+            log.debug("peer {} sent unreadable snapshot", peer, e);
+            return;
+        }
+        if (!peer.equals(shard.ownerOf(s.ticker()))) return; // 소유 노드가 보낸 값만 (되돌아온 복제본 차단)
+        cache.put(s.ticker(), new ReplicatedTick(s));
+        received.increment();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "peer-feed-reconcile");
+            t.setDaemon(true);
+            return t;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, 0, props.heartbeatMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (reconciler != null) reconciler.shutdownNow();
+        feeds.values().forEach(Feed::close);
+        feeds.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** peer 하나에 대한 SSE 연결 — 줄 단위 blocking 읽기라 peer 당 데몬 스레드 1개 */
+    private final class Feed implements Runnable {
+
+        final String node;
+        final String endpoint;
+        private final Thread thread;
+        private volatile boolean open = true;
+        private volatile Stream<String> lines;
+
+        Feed(String node, String endpoint) {
+            this.node = node;
+            this.endpoint = endpoint;
+            this.thread = new Thread(this, "peer-feed-" + node);
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        void close() {
+            open = false;
+            Stream<String> l = lines;
+            if (l != null) l.close(); // 읽기 중인 body 구독을 끊어 스레드를 깨움
+            thread.interrupt();
+        }
+
+        @Override
+        public void run() {
+            long backoffMs = 1000;
+            HttpRequest req = HttpRequest.newBuilder(URI.create(endpoint + "/api/prices/stream"))
+                    .header("Accept", "text/event-stream")
+                    .GET()
+                    .build();
+            while (open) {
+                try {
+                    HttpResponse<Stream<String>> res = http.send(req, HttpResponse.BodyHandlers.ofLines());
+                    if (res.statusCode() != 200) throw new IOException("HTTP " + res.statusCode());
+                    lines = res.body();
+                    log.info("peer feed connected: {} {}", node, endpoint);
+                    backoffMs = 1000;
+                    try (Stream<String> l = lines) {
+                        Iterator<String> it = l.iterator();
+                        while (open && it.hasNext()) {
+                            String line = it.next();
+                            if (line.startsWith("data:")) accept(node, line.substring(5).trim());
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException | UncheckedIOException e) {
+                    if (open) log.warn("peer feed {} lost: {}", node, e.toString());
+                }
+                if (!open) return;
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.stock.autostock.shard;
+
+import com.stock.autostock.entity.BaseSymbolTick;
+import com.stock.autostock.entity.SymbolPriceCache.Snapshot;
+
+/**
+ * 다른 노드가 수집한 최신값 — 캐시에만 넣고 저장하지 않으므로 엔티티가 아니다
+ */
+final class ReplicatedTick extends BaseSymbolTick {
+
+    private final String ticker;
+
+    ReplicatedTick(Snapshot s) {
+        super(s.exchange(), s.last(), s.marketTs(), s.ingestedAt(), PriceSource.REPLICATED);
+        this.ticker = s.ticker();
+    }
+
+    @Override
+    public String ticker() {
+        return ticker;
+    }
+}
@@ -0,0 +1,230 @@
+package com.stock.autostock.shard;
+
+import com.stock.autostock.watchlist.WatchlistEntry;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공유 DB 리스 두 단계로 종목 수집을 나눈다.
+ * <ol>
+ *   <li>노드 리스(shard_node) — 살아 있는 노드 집합으로 일관 해시 링을 만들어 종목별 "주인이 될 노드"를 정함</li>
+ *   <li>종목 리스(shard_symbol_lease) — 실제 소유권. 만료됐거나 자기 것인 행만 조건부 UPDATE 로 가져가고,
+ *       링에서 빠진 종목은 로컬 소유를 먼저 끊은 뒤 행을 지워 넘겨준다</li>
+ * </ol>
+ * 새 노드는 이전 주인이 넘겨주거나(다음 하트비트) 그 리스가 만료된 뒤에야 가져가므로 두 노드가 같은 종목을
+ * 동시에 소유(수집/주문)하는 구간이 없다. 로컬 소유 판단은 리스를 갱신하기 직전 시각 + ttl 까지라
+ * DB 의 lease_until(갱신 시점 DB 시각 + ttl)보다 항상 먼저 끝난다.
+ * 리스 시각은 모두 DB 의 CURRENT_TIMESTAMP 기준 — 호스트 간 시계 차이가 리스에 영향을 주지 않는다.
+ * 리더(한 곳에서만 돌아야 하는 작업)도 같은 테이블의 예약 행({@value #LEADER_KEY})을 같은 규칙으로 잡은 노드라,
+ * 노드 목록이 엇갈려 보이는 동안에도 리더가 둘이 되지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shard", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardProps.class)
+public class ShardCoordinator implements SmartLifecycle {
+
+    /** 리더 리스 행의 ticker — 실제 종목 티커와 겹치지 않는 예약 키 */
+    static final String LEADER_KEY = "__leader__";
+
+    private static final String LEASE_UNTIL = "DATEADD('MILLISECOND', ?, CURRENT_TIMESTAMP)";
+
+    private static final String NODE_MERGE_SQL =
+            "MERGE INTO shard_node (node_id, endpoint, lease_until) KEY (node_id) VALUES (?, ?, " + LEASE_UNTIL + ")";
+    private static final String NODE_REAP_SQL = "DELETE FROM shard_node WHERE lease_until < CURRENT_TIMESTAMP";
+    private static final String NODE_LIVE_SQL =
+            "SELECT node_id, endpoint FROM shard_node WHERE lease_until >= CURRENT_TIMESTAMP ORDER BY node_id";
+    private static final String NODE_LEAVE_SQL = "DELETE FROM shard_node WHERE node_id = ?";
+
+    private static final String RENEW_SQL =
+            "UPDATE shard_symbol_lease SET lease_until = " + LEASE_UNTIL + " WHERE owner = ?";
+    private static final String CLAIM_SQL =
+            "UPDATE shard_symbol_lease SET owner = ?, lease_until = " + LEASE_UNTIL +
+            " WHERE ticker = ? AND (owner = ? OR lease_until < CURRENT_TIMESTAMP)";
+    private static final String INSERT_SQL =
+            "INSERT INTO shard_symbol_lease (ticker, owner, lease_until) VALUES (?, ?, " + LEASE_UNTIL + ")";
+    private static final String RELEASE_SQL = "DELETE FROM shard_symbol_lease WHERE ticker = ? AND owner = ?";
+    private static final String RELEASE_ALL_SQL = "DELETE FROM shard_symbol_lease WHERE owner = ?";
+    private static final String OWNERS_SQL =
+            "SELECT ticker, owner FROM shard_symbol_lease WHERE lease_until >= CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbc;
+    private final ShardProps props;
+    private final WatchlistRegistry watchlist;
+
+    private ScheduledExecutorService heartbeat;
+    private volatile View view = new View(new ConsistentHashRing(List.of(), 1), Map.of());
+    private volatile Map<String, String> owners = Map.of();    // 종목 → 리스 보유 노드 (마지막 하트비트 기준)
+    private volatile boolean leader;                            // 리더 리스 보유 (마지막 하트비트 기준)
+    private volatile long leaseValidUntilNanos;                 // 마지막 성공 갱신 직전 + ttl (로컬 단조 시계)
+    private volatile boolean running;
+
+    public ShardCoordinator(JdbcTemplate jdbc, ShardProps props, WatchlistRegistry watchlist, MeterRegistry meters) {
+        if (props.nodeId() == null || props.nodeId().isBlank()) {
+            throw new IllegalStateException("shard.node-id must be set when shard.enabled=true");
+        }
+        this.jdbc = jdbc;
+        this.props = props;
+        this.watchlist = watchlist;
+        meters.gauge("shard.nodes", this, c -> c.view.ring().nodes().size());
+        meters.gauge("shard.owned.symbols", this, c -> c.owners.values().stream()
+                .filter(props.nodeId()::equals).count());
+    }
+
+    public String nodeId() {
+        return props.nodeId();
+    }
+
+    /** 이 노드가 지금 이 종목의 리스를 보유하는가 — 갱신이 ttl 동안 실패했으면 false */
+    public boolean owns(String ticker) {
+        return healthy() && props.nodeId().equals(owners.get(ticker));
+    }
+
+    /** 종목 리스 보유 노드, 아무도 없으면 null */
+    public String ownerOf(String ticker) {
+        return owners.get(ticker);
+    }
+
+    /** 리더 리스 보유 노드인가 — 보관 정리처럼 한 곳에서만 돌아야 하는 작업용 */
+    public boolean isLeader() {
+        return healthy() && leader;
+    }
+
+    /** 자기 자신을 뺀 살아 있는 노드 → endpoint */
+    public Map<String, String> peers() {
+        Map<String, String> peers = new LinkedHashMap<>(view.endpoints());
+        peers.remove(props.nodeId());
+        return peers;
+    }
+
+    private boolean healthy() {
+        return running && System.nanoTime() - leaseValidUntilNanos < 0;
+    }
+
+    void heartbeat() {
+        long startNanos = System.nanoTime();
+        String me = props.nodeId();
+        try {
+            jdbc.update(NODE_MERGE_SQL, me, props.endpoint(), props.leaseTtlMs());
+            int reaped = jdbc.update(NODE_REAP_SQL);
+            Map<String, String> live = new LinkedHashMap<>();
+            jdbc.query(NODE_LIVE_SQL, rs -> {
+                live.put(rs.getString(1), rs.getString(2));
+            });
+            if (!live.keySet().equals(view.endpoints().keySet())) {
+                log.info("shard membership changed: {} -> {} (reaped {})",
+                        view.endpoints().keySet(), live.keySet(), reaped);
+                view = new View(new ConsistentHashRing(live.keySet(), props.virtualNodes()), Map.copyOf(live));
+            } else if (!live.equals(view.endpoints())) {
+                view = new View(view.ring(), Map.copyOf(live)); // endpoint 만 바뀜
+            }
+            ConsistentHashRing ring = view.ring();
+
+            // 1) 넘겨줄 종목: 로컬 소유를 먼저 끊고 나서 행 삭제 — 새 주인이 가져가기 전에 이미 수집을 멈춘 상태
+            Map<String, String> current = new HashMap<>(owners);
+            List<String> handoff = current.entrySet().stream()
+                    .filter(e -> me.equals(e.getValue()) && !me.equals(desiredOwner(ring, e.getKey())))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!handoff.isEmpty()) {
+                handoff.forEach(current::remove);
+                owners = Map.copyOf(current);
+                for (String ticker : handoff) {
+                    jdbc.update(RELEASE_SQL, ticker, me);
+                }
+                log.info("shard {} released {}", me, handoff);
+            }
+
+            // 2) 보유 리스(리더 포함) 연장, 3) 링상 내 몫인데 비어 있거나 만료된 종목 획득, 4) 리더 자리가 비었으면 획득
+            jdbc.update(RENEW_SQL, props.leaseTtlMs(), me);
+            for (WatchlistEntry w : watchlist.entries()) {
+                String ticker = w.ticker();
+                if (!me.equals(ring.ownerOf(ticker)) || me.equals(current.get(ticker))) continue;
+                claim(ticker);
+            }
+            if (!leader) claim(LEADER_KEY);
+
+            Map<String, String> read = new HashMap<>();
+            jdbc.query(OWNERS_SQL, rs -> {
+                read.put(rs.getString(1), rs.getString(2));
+            });
+            boolean lead = me.equals(read.remove(LEADER_KEY));
+            if (lead != leader) log.info("shard {} {} leadership", me, lead ? "took" : "lost");
+            leader = lead;
+            owners = Map.copyOf(read);
+            leaseValidUntilNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(props.leaseTtlMs());
+        } catch (DataAccessException e) {
+            log.warn("shard heartbeat failed: {}", me, e); // 리스 만료 전까지는 기존 소유 유지
+        }
+    }
+
+    /** 비어 있거나 만료된 리스 행을 가져옴 — 다른 노드의 리스가 아직 유효하면 그대로 둠 */
+    private void claim(String key) {
+        String me = props.nodeId();
+        if (jdbc.update(CLAIM_SQL, me, props.leaseTtlMs(), key, me) > 0) return;
+        try {
+            jdbc.update(INSERT_SQL, key, me, props.leaseTtlMs());
+        } catch (DuplicateKeyException held) {
+            // 이전 주인의 리스가 아직 유효 — 넘겨주거나 만료되면 다음 하트비트에 획득
+        }
+    }
+
+    /** 관심종목에서 빠진 종목은 아무도 소유하지 않음 */
+    private String desiredOwner(ConsistentHashRing ring, String ticker) {
+        return watchlist.find(ticker).isPresent() ? ring.ownerOf(ticker) : null;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        heartbeat();
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "shard-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleWithFixedDelay(this::heartbeat,
+                props.heartbeatMs(), props.heartbeatMs(), TimeUnit.MILLISECONDS);
+        log.info("shard node {} joined at {}", props.nodeId(), props.endpoint());
+    }
+
+    @Override
+    public void stop() {
+        running = false; // owns()/isLeader() 는 즉시 false — 리스를 지우기 전에 수집을 멈춘다
+        if (heartbeat != null) heartbeat.shutdownNow();
+        try {
+            jdbc.update(RELEASE_ALL_SQL, props.nodeId()); // 리더 행 포함
+            jdbc.update(NODE_LEAVE_SQL, props.nodeId()); // 정상 종료는 리스 만료를 기다리지 않고 바로 재분배
+        } catch (DataAccessException e) {
+            log.warn("shard leave failed: {}", props.nodeId(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 100; // 수집(엔진/스트림)보다 먼저 시작하고 나중에 멈춤
+    }
+
+    private record View(ConsistentHashRing ring, Map<String, String> endpoints) {}
+}
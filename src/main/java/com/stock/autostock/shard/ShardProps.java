@@ -0,0 +1,18 @@
+package com.stock.autostock.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 다중 노드 분할 수집 — 공유 DB 의 shard_node 리스로 멤버십을 정하고 일관 해시로 종목을 나눈다
+ */
+@ConfigurationProperties(prefix = "shard")
+public record ShardProps(
+        @DefaultValue("false") boolean enabled,
+        String nodeId,                              // 노드 식별자 (인스턴스마다 달라야 함)
+        String endpoint,                            // 다른 노드가 복제 피드를 받으러 올 주소 (http://host:port)
+        @DefaultValue("10000") long leaseTtlMs,     // 노드/종목 리스 길이 — 끊긴 노드의 종목은 이만큼 지나야 다른 노드가 가져감
+        @DefaultValue("3000") long heartbeatMs,
+        @DefaultValue("128") int virtualNodes,      // 노드당 링 위 가상 노드 수 — 클수록 고르게 나뉨
+        @DefaultValue("true") boolean replicate     // 다른 노드 소유 종목도 그 노드의 SSE 로 받아 캐시에 반영
+) {}
@@ -0,0 +1,48 @@
+package com.stock.autostock.strategy;
+
+import com.stock.autostock.config.StrategyProps;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolPriceCache.Snapshot;
+import com.stock.autostock.event.BuyEvent;
+import com.stock.autostock.event.Event;
+import com.stock.autostock.event.SellEvent;
+import com.stock.autostock.indicator.IndicatorService;
+import com.stock.autostock.indicator.SymbolIndicators;
+
+/**
+ * 이동평균 교차 규칙 — {@link IndicatorService} 가 이미 갱신해 둔 단기/장기 SMA 를 읽기만 한다.
+ * 직전 평가 대비 부호가 바뀌는 순간에만 신호.
+ */
+public class MovingAverageCrossRule implements StrategyRule {
+
+    private final StrategyProps.MaCross cfg;
+    private final IndicatorService indicators;
+    private int lastSign; // +1: 단기 > 장기, -1: 단기 < 장기, 0: 미정
+
+    public MovingAverageCrossRule(StrategyProps.MaCross cfg, IndicatorService indicators) {
+        if (!indicators.hasWindow(cfg.shortWindow()) || !indicators.hasWindow(cfg.longWindow())) {
+            throw new IllegalStateException("indicator.windows must include " + cfg.shortWindow()
+                    + " and " + cfg.longWindow() + " for ma-cross on " + cfg.ticker());
+        }
+        this.cfg = cfg;
+        this.indicators = indicators;
+    }
+
+    @Override
+    public synchronized Event evaluate(Snapshot latest, SymbolPriceCache cache) {
+        if (!cfg.ticker().equals(latest.ticker())) return null;
+
+        SymbolIndicators ind = indicators.get(latest.ticker()).orElse(null);
+        if (ind == null) return null;
+        double shortMa = ind.sma(cfg.shortWindow());
+        double longMa = ind.sma(cfg.longWindow());
+        if (Double.isNaN(shortMa) || Double.isNaN(longMa)) return null; // 창이 덜 참
+
+        int sign = Double.compare(shortMa, longMa);
+        int prev = lastSign;
+        lastSign = sign;
+        if (prev < 0 && sign > 0) return new BuyEvent(latest.marketTs(), asset(latest), cfg.quantity(), latest.last());
+        if (prev > 0 && sign < 0) return new SellEvent(latest.marketTs(), asset(latest), cfg.quantity(), latest.last());
+        return null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.stock.autostock.strategy;
+
+import com.stock.autostock.config.StrategyProps;
+import com.stock.autostock.event.BuyEvent;
+import com.stock.autostock.event.Event;
+import com.stock.autostock.service.OrderGateway;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전략 신호 → 주문 제출. 발행 스레드(수집 writer)는 큐에 넣기만 하고 즉시 돌아간다.
+ * 큐가 가득 차면 신호를 버린다 — 밀린 신호로 뒤늦게 주문하는 것보다 안전.
+ * 같은 종목 주문은 직전 주문 완료 후 이어서(FIFO), 다른 종목끼리는 동시에 진행.
+ * replay 프로필에서는 쓰지 않는다 — SimulatedOrderGateway 가 신호를 발행 스레드에서 바로 체결.
+ */
+@Slf4j
+@Component
+@Profile("!replay")
+@ConditionalOnProperty(prefix = "strategy", name = "enabled", havingValue = "true")
+public class OrderDispatcher implements SmartLifecycle {
+
+    private final OrderGateway gateway;
+    private final BlockingQueue<Event> queue;
+    private final Counter dropped;
+
+    // 종목별 마지막 주문 future — 소비 스레드 하나에서만 접근
+    private final Map<String, CompletableFuture<?>> tails = new HashMap<>();
+
+    private volatile Thread consumer;
+    private volatile boolean running;
+
+    public OrderDispatcher(OrderGateway gateway, StrategyProps props, MeterRegistry meters) {
+        this.gateway = gateway;
+        this.queue = new ArrayBlockingQueue<>(props.queueCapacity());
+        this.dropped = meters.counter("strategy.dispatch.dropped");
+        meters.gaugeCollectionSize("strategy.dispatch.queue.depth", List.of(), queue);
+    }
+
+    @EventListener
+    public void on(Event event) {
+        if (!queue.offer(event)) {
+            dropped.increment();
+            log.warn("order queue full, dropping {} {}", event.getClass().getSimpleName(), event.getTradableUs());
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            Event e;
+            try {
+                e = queue.poll(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (e == null) continue;
+
+            String ticker = e.getTradableUs().ticker();
+            CompletableFuture<?> prev = tails.getOrDefault(ticker, CompletableFuture.completedFuture(null));
+            CompletableFuture<String> next = prev
+                    .handle((r, ex) -> null) // 직전 주문 실패와 무관하게 다음 주문 진행
+                    .thenCompose(x -> submit(e))
+                    .whenComplete((odno, ex) -> {
+                        if (ex != null) log.warn("strategy order failed: {} {}", ticker, e.getClass().getSimpleName(), ex);
+                        else log.info("strategy order placed: {} {} x{} @{} odno={}",
+                                e.getClass().getSimpleName(), ticker, e.getQuantity(), e.getLimitPrice(), odno);
+                    });
+            tails.put(ticker, next);
+        }
+    }
+
+    private CompletableFuture<String> submit(Event e) {
+        OrderGateway.Side side = e instanceof BuyEvent ? OrderGateway.Side.BUY : OrderGateway.Side.SELL;
+        return gateway.submit(side, e.getTradableUs(), e.getQuantity(), e.getLimitPrice());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        consumer = new Thread(this::drain, "strategy-order-dispatcher");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false; // 남은 큐는 소비 스레드가 비우고 종료
+        Thread t = consumer;
+        if (t != null) {
+            try {
+                t.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
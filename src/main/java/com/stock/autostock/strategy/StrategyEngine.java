@@ -0,0 +1,78 @@
+package com.stock.autostock.strategy;
+
+import com.stock.autostock.config.StrategyProps;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolPriceCache.Snapshot;
+import com.stock.autostock.event.Event;
+import com.stock.autostock.event.Events;
+import com.stock.autostock.indicator.IndicatorService;
+import com.stock.autostock.shard.ShardCoordinator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 캐시 최신값 갱신마다 규칙을 평가해 BuyEvent/SellEvent 를 발행한다.
+ * 평가는 캐시를 갱신한 스레드(수집 writer, 체결 스트림 등)에서 동기로 돌고, 주문 제출은 {@link OrderDispatcher} 가 별도 스레드에서 처리.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "strategy", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(StrategyProps.class)
+public class StrategyEngine implements SymbolPriceCache.Listener {
+
+    private final SymbolPriceCache cache;
+    private final List<StrategyRule> rules = new ArrayList<>();
+    private final long cooldownMs;
+    private final MeterRegistry meters;
+    private final ObjectProvider<ShardCoordinator> shard;
+
+    // (규칙 인덱스, 티커) → 마지막 발동 marketTs(ms) — 시장시각 기준이라 리플레이에서도 같은 결과
+    private final ConcurrentHashMap<String, Long> lastFired = new ConcurrentHashMap<>();
+
+    public StrategyEngine(SymbolPriceCache cache, IndicatorService indicators,
+                          StrategyProps props, MeterRegistry meters, ObjectProvider<ShardCoordinator> shard) {
+        this.cache = cache;
+        this.meters = meters;
+        this.shard = shard;
+        this.cooldownMs = props.cooldownMs();
+        props.thresholds().forEach(t -> rules.add(new ThresholdRule(t)));
+        props.maCrosses().forEach(m -> rules.add(new MovingAverageCrossRule(m, indicators)));
+        cache.addListener(this);
+        log.info("strategy engine started: {} rules", rules.size());
+    }
+
+    @Override
+    public void onUpdate(Snapshot latest) {
+        // 복제된 종목은 소유 노드에서만 평가 — 같은 신호로 노드마다 주문이 나가지 않게
+        var coordinator = shard.getIfAvailable();
+        if (coordinator != null && !coordinator.owns(latest.ticker())) return;
+        for (int i = 0; i < rules.size(); i++) {
+            Event event = rules.get(i).evaluate(latest, cache);
+            if (event == null || !cooledDown(i + ":" + latest.ticker(), latest.marketTs().toEpochMilli())) continue;
+
+            meters.counter("strategy.signal",
+                    "ticker", latest.ticker(),
+                    "side", event.getClass().getSimpleName()).increment();
+            Events.raise(event);
+        }
+    }
+
+    /** 판단과 기록을 키 단위로 원자적으로 — 폴링 writer 와 체결 스트림이 여러 스레드에서 동시에 들어와도 한 번만 통과 */
+    private boolean cooledDown(String key, long now) {
+        boolean[] fired = new boolean[1];
+        lastFired.compute(key, (k, prev) -> {
+            if (prev != null && now - prev < cooldownMs) return prev;
+            fired[0] = true;
+            return now;
+        });
+        return fired[0];
+    }
+}
@@ -0,0 +1,20 @@
+package com.stock.autostock.strategy;
+
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolPriceCache.Snapshot;
+import com.stock.autostock.event.Event;
+
+/**
+ * 최신 스냅샷 1건이 들어올 때마다 평가되는 규칙. 수집 writer 스레드에서 돌기 때문에 가볍게 유지할 것
+ */
+public interface StrategyRule {
+
+    /** 신호가 없으면 null */
+    Event evaluate(Snapshot latest, SymbolPriceCache cache);
+
+    /** 주문 대상 — 관심종목은 런타임에 바뀌므로 스냅샷의 티커/거래소로 만든다 */
+    default TradableUs asset(Snapshot latest) {
+        return new TradableUs(latest.ticker(), latest.exchange());
+    }
+}
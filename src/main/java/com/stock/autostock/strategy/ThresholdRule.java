@@ -0,0 +1,32 @@
+package com.stock.autostock.strategy;
+
+import com.stock.autostock.config.StrategyProps;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolPriceCache.Snapshot;
+import com.stock.autostock.event.BuyEvent;
+import com.stock.autostock.event.Event;
+import com.stock.autostock.event.SellEvent;
+
+/**
+ * 가격 임계값 규칙 — 지정가는 그 순간의 last
+ */
+public class ThresholdRule implements StrategyRule {
+
+    private final StrategyProps.Threshold cfg;
+
+    public ThresholdRule(StrategyProps.Threshold cfg) {
+        this.cfg = cfg;
+    }
+
+    @Override
+    public Event evaluate(Snapshot latest, SymbolPriceCache cache) {
+        if (!cfg.ticker().equals(latest.ticker())) return null;
+        if (cfg.buyBelow() != null && latest.last().compareTo(cfg.buyBelow()) <= 0) {
+            return new BuyEvent(latest.marketTs(), asset(latest), cfg.quantity(), latest.last());
+        }
+        if (cfg.sellAbove() != null && latest.last().compareTo(cfg.sellAbove()) >= 0) {
+            return new SellEvent(latest.marketTs(), asset(latest), cfg.quantity(), latest.last());
+        }
+        return null;
+    }
+}
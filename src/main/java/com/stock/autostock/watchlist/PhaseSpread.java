@@ -0,0 +1,50 @@
+package com.stock.autostock.watchlist;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 같은 주기의 종목들을 주기 안에 고르게 배치한 시작 오프셋.
+ * 주기 T 에 n 종목이면 i 번째는 (2i+1)·T/2n — 구간 가운데에 놓아서 다른 주기 그룹의 0 시점과도 잘 겹치지 않는다.
+ * 예) 1s 에 4 종목 → 125, 375, 625, 875ms. 모든 종목이 매 초 정각에 몰리는 대신 초 전체에 퍼진다.
+ */
+public final class PhaseSpread {
+
+    private PhaseSpread() {
+    }
+
+    /** 티커 → 첫 실행까지 지연(ms). 입력 순서(우선순위 순)대로 앞 슬롯부터 배정 */
+    public static Map<String, Long> offsets(List<WatchlistEntry> entries) {
+        Map<Long, Integer> groupSize = new LinkedHashMap<>();
+        for (WatchlistEntry e : entries) groupSize.merge(e.intervalMs(), 1, Integer::sum);
+
+        Map<Long, Integer> seen = new LinkedHashMap<>();
+        Map<String, Long> out = new LinkedHashMap<>();
+        for (WatchlistEntry e : entries) {
+            long t = e.intervalMs();
+            int n = groupSize.get(t);
+            int i = seen.merge(t, 1, Integer::sum) - 1;
+            out.put(e.ticker(), (2L * i + 1) * t / (2L * n));
+        }
+        return out;
+    }
+
+    /**
+     * 이미 돌고 있는 같은 주기 슬롯들(다음 실행까지 남은 ms) 사이에 한 종목을 끼워 넣을 첫 지연 —
+     * 가장 넓은 빈 구간의 가운데. 기존 슬롯의 위상은 건드리지 않는다.
+     */
+    public static long insertOffset(long intervalMs, List<Long> delays) {
+        if (delays.isEmpty()) return intervalMs / 2;
+        long[] p = delays.stream().mapToLong(d -> Math.floorMod(d, intervalMs)).sorted().toArray();
+        long gapStart = p[p.length - 1];
+        long gapLen = p[0] + intervalMs - gapStart; // 주기 끝을 넘어 처음으로 도는 구간
+        for (int i = 1; i < p.length; i++) {
+            if (p[i] - p[i - 1] > gapLen) {
+                gapStart = p[i - 1];
+                gapLen = p[i] - p[i - 1];
+            }
+        }
+        return (gapStart + gapLen / 2) % intervalMs;
+    }
+}
@@ -0,0 +1,13 @@
+package com.stock.autostock.watchlist;
+
+import com.stock.autostock.domain.TradableUs;
+
+/**
+ * 관심종목 1건 — 종목별 폴링 주기와 우선순위
+ */
+public record WatchlistEntry(TradableUs asset, long intervalMs, int priority) {
+
+    public String ticker() {
+        return asset.ticker();
+    }
+}
@@ -0,0 +1,24 @@
+package com.stock.autostock.watchlist;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * 초기 관심종목 — watch_symbol 테이블이 비어 있을 때만 시드로 쓰이고, 이후 추가/삭제/변경은 /api/watchlist 로
+ */
+@ConfigurationProperties(prefix = "watchlist")
+public record WatchlistProps(
+        @DefaultValue("250") long minIntervalMs,    // 이보다 짧은 종목별 주기는 거부 — 호출 한도 보호
+        @DefaultValue("0") long refreshMs,          // > 0: 다른 노드가 바꾼 목록을 이 주기로 DB 에서 다시 읽음
+        @DefaultValue List<Symbol> symbols          // 비우면 TradableUs.DEFAULTS 를 ingest.interval-ms 로
+) {
+    /** intervalMs 를 비우면 ingest.interval-ms, priority 가 클수록 먼저 배치/구독 */
+    public record Symbol(
+            String ticker,
+            @DefaultValue("NASD") String exchange,
+            Long intervalMs,
+            @DefaultValue("0") int priority
+    ) {}
+}
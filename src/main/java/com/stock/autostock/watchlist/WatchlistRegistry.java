@@ -0,0 +1,186 @@
+package com.stock.autostock.watchlist;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.entity.WatchSymbol;
+import com.stock.autostock.entity.WatchSymbolRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 런타임 관심종목 — watch_symbol 테이블이 원본이고, 비어 있으면 설정(watchlist.symbols)으로 시드.
+ * 조회는 불변 목록의 volatile 읽기라 수집 경로에서 락이 없다. 바뀌면 리스너(수집 스케줄, 실시간 구독)에 통지.
+ * 목록은 우선순위 내림차순 → 티커 순.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(WatchlistProps.class)
+public class WatchlistRegistry implements SmartLifecycle {
+
+    private static final Comparator<WatchlistEntry> ORDER =
+            Comparator.comparingInt(WatchlistEntry::priority).reversed().thenComparing(WatchlistEntry::ticker);
+
+    private final WatchSymbolRepository repo;
+    private final WatchlistProps props;
+    private final long defaultIntervalMs;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile List<WatchlistEntry> entries = List.of();
+    private volatile List<TradableUs> assets = List.of();
+    private ScheduledExecutorService refresher;
+
+    public WatchlistRegistry(WatchSymbolRepository repo, WatchlistProps props, IngestProps ingestProps,
+                             MeterRegistry meters) {
+        this.repo = repo;
+        this.props = props;
+        this.defaultIntervalMs = ingestProps.intervalMs();
+        seedIfEmpty();
+        reload();
+        meters.gauge("watchlist.symbols", this, r -> r.entries.size());
+        // 종목별 주기로 환산한 초당 시세 요청 수 — kis.client.rate-limit 예산과 비교용
+        meters.gauge("watchlist.requested.rps", this, r -> r.entries.stream()
+                .mapToDouble(e -> 1000.0 / e.intervalMs()).sum());
+    }
+
+    /** 우선순위 순 관심종목 */
+    public List<WatchlistEntry> entries() {
+        return entries;
+    }
+
+    /** 우선순위 순 종목 — 배치 reader, 실시간 구독, 리플레이용 */
+    public List<TradableUs> assets() {
+        return assets;
+    }
+
+    public Optional<WatchlistEntry> find(String ticker) {
+        for (WatchlistEntry e : entries) {
+            if (e.ticker().equals(ticker)) return Optional.of(e);
+        }
+        return Optional.empty();
+    }
+
+    /** 목록이 바뀔 때마다 호출 — 변경을 일으킨 스레드(관리 API, refresher)에서 동기 실행 */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /** 추가 또는 거래소/주기/우선순위 변경. intervalMs 가 null 이면 기존 값(신규는 ingest.interval-ms) */
+    public WatchlistEntry upsert(String ticker, String exchange, Long intervalMs, Integer priority) {
+        String key = normalize(ticker);
+        WatchSymbol row = repo.findById(key).orElse(null);
+        String ex = exchange != null ? exchange.toUpperCase(Locale.ROOT)
+                : row != null ? row.getExchange() : "NASD";
+        long interval = intervalMs != null ? intervalMs
+                : row != null ? row.getIntervalMs() : defaultIntervalMs;
+        int prio = priority != null ? priority : row != null ? row.getPriority() : 0;
+        if (interval < props.minIntervalMs()) {
+            throw new IllegalArgumentException("intervalMs must be >= " + props.minIntervalMs());
+        }
+        new TradableUs(key, ex); // 형식 검증
+
+        if (row == null) row = new WatchSymbol(key, ex, interval, prio);
+        else row.update(ex, interval, prio);
+        repo.save(row);
+        reload();
+        log.info("watchlist upsert: {} {} every {}ms (priority {})", key, ex, interval, prio);
+        return find(key).orElseThrow();
+    }
+
+    /** 삭제 — 없던 종목이면 false */
+    public boolean remove(String ticker) {
+        String key = normalize(ticker);
+        if (!repo.existsById(key)) return false;
+        repo.deleteById(key);
+        reload();
+        log.info("watchlist remove: {}", key);
+        return true;
+    }
+
+    /** DB 에서 다시 읽어 바뀌었으면 교체 후 통지 */
+    public synchronized void reload() {
+        List<WatchlistEntry> loaded = repo.findAll().stream()
+                .map(r -> new WatchlistEntry(new TradableUs(r.getTicker(), r.getExchange()),
+                        r.getIntervalMs(), r.getPriority()))
+                .sorted(ORDER)
+                .toList();
+        if (loaded.equals(entries)) return;
+        entries = loaded;
+        assets = loaded.stream().map(WatchlistEntry::asset).toList();
+        for (Runnable l : listeners) {
+            try {
+                l.run();
+            } catch (RuntimeException e) {
+                log.warn("watchlist listener failed", e); // 리스너 하나가 나머지 통지를 막지 않게
+            }
+        }
+    }
+
+    private void seedIfEmpty() {
+        if (repo.count() > 0) return;
+        List<WatchSymbol> seed = props.symbols().isEmpty()
+                ? TradableUs.DEFAULTS.stream()
+                        .map(a -> new WatchSymbol(a.ticker(), a.exchange(), defaultIntervalMs, 0))
+                        .toList()
+                : props.symbols().stream()
+                        .map(s -> new WatchSymbol(normalize(s.ticker()), s.exchange(),
+                                s.intervalMs() != null ? s.intervalMs() : defaultIntervalMs, s.priority()))
+                        .toList();
+        try {
+            repo.saveAll(seed);
+            log.info("watchlist seeded from config: {} symbols", seed.size());
+        } catch (DataIntegrityViolationException e) {
+            log.info("watchlist already seeded by another node"); // 공유 DB 에서 동시 기동
+        }
+    }
+
+    private static String normalize(String ticker) {
+        if (ticker == null || ticker.isBlank()) throw new IllegalArgumentException("ticker is blank");
+        return ticker.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private void refresh() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("watchlist refresh failed", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (props.refreshMs() <= 0) return;
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "watchlist-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh, props.refreshMs(), props.refreshMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return refresher != null;
+    }
+}
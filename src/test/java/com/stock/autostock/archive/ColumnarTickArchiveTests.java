@@ -0,0 +1,94 @@
+package com.stock.autostock.archive;
+
+import com.stock.autostock.config.ArchiveProps;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarTickArchiveTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 2);
+    private static final Instant OPEN = Instant.parse("2025-01-02T14:30:00Z");
+
+    @TempDir
+    Path dir;
+
+    private ColumnarTickWriter writer(int blockSize) {
+        return new ColumnarTickWriter(new ArchiveProps(ArchiveProps.Mode.ALONGSIDE, dir.toString(), blockSize, 1000));
+    }
+
+    @Test
+    void roundTripsAcrossBlocksIncludingOutOfOrderTicks() {
+        ColumnarTickWriter w = writer(100);
+        long px = 12_3450_0000L;
+        for (int i = 0; i < 1_000; i++) {
+            px += (i % 3 - 1) * 5_000;                                       // 오르내림 → 음수 델타
+            Instant m = OPEN.plusSeconds(i).minusMillis(i % 10 == 5 ? 1_500 : 0); // 가끔 역전
+            w.append("IREN", DAY, BigDecimal.valueOf(px, 8), m, m.plusMillis(i % 40));
+        }
+        w.flush();
+
+        TickArchiveReader reader = new TickArchiveReader(dir);
+        assertThat(reader.days("IREN")).containsExactly(DAY);
+
+        int n = 0;
+        long expectPx = 12_3450_0000L;
+        try (TickCursor c = reader.open("IREN", DAY)) {
+            while (c.next()) {
+                expectPx += (n % 3 - 1) * 5_000;
+                assertThat(c.priceE8()).isEqualTo(expectPx);
+                assertThat(c.marketMs()).isEqualTo(OPEN.plusSeconds(n).minusMillis(n % 10 == 5 ? 1_500 : 0).toEpochMilli());
+                assertThat(c.latencyMs()).isEqualTo(n % 40);
+                n++;
+            }
+        }
+        assertThat(n).isEqualTo(1_000);
+
+        int inRange = 0;
+        try (TickCursor c = reader.open("IREN", DAY, OPEN.plusSeconds(250), OPEN.plusSeconds(260))) {
+            while (c.next()) inRange++;
+        }
+        assertThat(inRange).isEqualTo(10);
+    }
+
+    @Test
+    void ignoresTruncatedTrailingBlock() throws IOException {
+        ColumnarTickWriter w = writer(10);
+        for (int i = 0; i < 10; i++) w.append("CLSK", DAY, BigDecimal.TEN, OPEN.plusSeconds(i), OPEN.plusSeconds(i));
+        Path file = ColumnarTickWriter.fileOf(dir, "CLSK", DAY);
+        Files.write(file, new byte[]{0x54, 0x43, 0x42}, StandardOpenOption.APPEND); // 쓰다 만 헤더
+
+        int n = 0;
+        try (TickCursor c = new TickArchiveReader(dir).open("CLSK", DAY)) {
+            while (c.next()) n++;
+        }
+        assertThat(n).isEqualTo(10);
+        assertThat(new TickArchiveReader(dir).open("BITF", DAY).next()).isFalse();
+    }
+
+    @Test
+    void appendAfterTornBlockTruncatesItFirst() throws IOException {
+        ColumnarTickWriter w = writer(10);
+        for (int i = 0; i < 10; i++) w.append("BITF", DAY, BigDecimal.ONE, OPEN.plusSeconds(i), OPEN.plusSeconds(i));
+        Path file = ColumnarTickWriter.fileOf(dir, "BITF", DAY);
+        Files.write(file, new byte[]{0x54, 0x43, 0x42, 0x31, 0, 0}, StandardOpenOption.APPEND); // 재시작 전 쓰다 만 블록
+
+        ColumnarTickWriter restarted = writer(10);
+        for (int i = 10; i < 20; i++) restarted.append("BITF", DAY, BigDecimal.ONE, OPEN.plusSeconds(i), OPEN.plusSeconds(i));
+
+        int n = 0;
+        try (TickCursor c = new TickArchiveReader(dir).open("BITF", DAY)) {
+            while (c.next()) n++;
+        }
+        assertThat(n).isEqualTo(20);
+    }
+}
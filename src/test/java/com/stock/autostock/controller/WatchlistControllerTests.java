@@ -0,0 +1,79 @@
+package com.stock.autostock.controller;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.entity.WatchSymbol;
+import com.stock.autostock.watchlist.InMemoryWatchSymbolRepository;
+import com.stock.autostock.watchlist.WatchlistProps;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class WatchlistControllerTests {
+
+    private final Map<String, WatchSymbol> rows = new TreeMap<>();
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        rows.put("IREN", new WatchSymbol("IREN", "NASD", 1000, 0));
+        WatchlistRegistry registry = new WatchlistRegistry(InMemoryWatchSymbolRepository.of(rows),
+                new WatchlistProps(250, 0, List.of()),
+                new IngestProps(IngestProps.Mode.ENGINE, 1000, null, null, null, null),
+                new SimpleMeterRegistry());
+        mvc = MockMvcBuilders.standaloneSetup(new WatchlistController(registry)).build();
+    }
+
+    @Test
+    void listsAndUpserts() throws Exception {
+        mvc.perform(get("/api/watchlist"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].asset.ticker").value("IREN"))
+                .andExpect(jsonPath("$[0].intervalMs").value(1000));
+
+        mvc.perform(put("/api/watchlist/mara").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"exchange\":\"nyse\",\"intervalMs\":500,\"priority\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asset.ticker").value("MARA"))
+                .andExpect(jsonPath("$.asset.exchange").value("NYSE"))
+                .andExpect(jsonPath("$.priority").value(2));
+
+        // 본문 없이 — 기존 값 유지
+        mvc.perform(put("/api/watchlist/MARA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.intervalMs").value(500));
+
+        mvc.perform(get("/api/watchlist"))
+                .andExpect(jsonPath("$[0].asset.ticker").value("MARA"))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void rejectsTooShortIntervalWithBadRequest() throws Exception {
+        mvc.perform(put("/api/watchlist/MARA").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"intervalMs\":100}"))
+                .andExpect(status().isBadRequest());
+        assertThat(rows).doesNotContainKey("MARA");
+    }
+
+    @Test
+    void deleteReturnsNoContentOrNotFound() throws Exception {
+        mvc.perform(delete("/api/watchlist/iren")).andExpect(status().isNoContent());
+        mvc.perform(delete("/api/watchlist/iren")).andExpect(status().isNotFound());
+        assertThat(rows).isEmpty();
+    }
+}
@@ -0,0 +1,50 @@
+package com.stock.autostock.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RollingWindowTests {
+
+    @Test
+    void matchesBruteForceOverSlidingWindow() {
+        int n = 20;
+        RollingWindow w = new RollingWindow(n);
+        ArrayDeque<Double> win = new ArrayDeque<>();
+        Random rnd = new Random(42);
+
+        for (int i = 0; i < 2_000; i++) {
+            double x = Math.round(rnd.nextDouble() * 1_000) / 100.0;
+            w.add(x);
+            win.addLast(x);
+            if (win.size() > n) win.removeFirst();
+
+            double sum = 0, min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+            for (double v : win) { sum += v; min = Math.min(min, v); max = Math.max(max, v); }
+            double mean = sum / win.size();
+            double sq = 0;
+            for (double v : win) sq += (v - mean) * (v - mean);
+
+            assertThat(w.sma()).isCloseTo(mean, within(1e-9));
+            assertThat(w.min()).isEqualTo(min);
+            assertThat(w.max()).isEqualTo(max);
+            if (win.size() > 1) assertThat(w.variance()).isCloseTo(sq / (win.size() - 1), within(1e-6));
+        }
+    }
+
+    @Test
+    void emaStartsAtFirstValueAndSmaWaitsForFullWindow() {
+        SymbolIndicators s = new SymbolIndicators("IREN", List.of(3));
+        s.add(10, null);
+        assertThat(s.sma(3)).isNaN();
+        s.add(11, null);
+        s.add(12, null);
+        assertThat(s.sma(3)).isCloseTo(11, within(1e-12));
+        assertThat(s.ema(3)).isCloseTo(11.25, within(1e-12)); // 10 → 10.5 → 11.25 (alpha 0.5)
+    }
+}
@@ -0,0 +1,143 @@
+package com.stock.autostock.mock;
+
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.service.KisQuoteService;
+import com.stock.autostock.service.OrderGateway;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 모의 KIS 서버 상대 부하 측정 — ./gradlew loadTest.
+ * 클라이언트 측 유량 제한을 풀고 모의 서버 지연(p50 20ms / p99 120ms)만 남겨 시세/주문 경로의 p50/p99 와
+ * 초당 처리 가능한 종목 수를 본다. 수집 엔진도 같은 컨텍스트에서 1초 주기로 돈다.
+ */
+@Tag("load")
+@ActiveProfiles("kis-mock")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, properties = {
+        "server.port=18089",
+        "ingest.mode=engine",
+        "ingest.stream.enabled=false",
+        "retention.enabled=false",
+        "mock.kis.permits-per-second=0",
+        "kis.client.rate-limit.permits-per-second=100000",
+        "kis.client.rate-limit.burst=100000",
+        "kis.client.rate-limit.quote-max-wait-ms=60000",
+        "kis.client.quote.max-concurrency=64"
+})
+class MockKisLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(MockKisLoadTests.class);
+    private static final long RUN_MS = 10_000;
+
+    @Autowired
+    KisQuoteService quotes;
+    @Autowired
+    OrderGateway orders;
+    @Autowired
+    MeterRegistry meters;
+    @Autowired
+    WatchlistRegistry watchlist;
+
+    @Test
+    void quoteThroughputBySymbolCount() throws Exception {
+        for (int symbols : new int[]{10, 100, 500}) {
+            List<String> tickers = new ArrayList<>();
+            for (int i = 0; i < symbols; i++) tickers.add("S%04d".formatted(i));
+
+            ExecutorService pool = Executors.newFixedThreadPool(64);
+            ConcurrentLinkedQueue<Long> lat = new ConcurrentLinkedQueue<>();
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(RUN_MS);
+            int rounds = 0;
+            while (System.nanoTime() < deadline) {
+                List<CompletableFuture<Void>> round = new ArrayList<>(symbols);
+                for (String t : tickers) {
+                    round.add(CompletableFuture.runAsync(() -> {
+                        long t0 = System.nanoTime();
+                        quotes.getLastTick("NASD", t);
+                        lat.add(System.nanoTime() - t0);
+                    }, pool));
+                }
+                CompletableFuture.allOf(round.toArray(CompletableFuture[]::new)).join();
+                rounds++;
+            }
+            double sec = (System.nanoTime() - start) / 1e9;
+            pool.shutdownNow();
+
+            report("quote x" + symbols, lat, sec);
+            log.info(String.format(Locale.ROOT, "  rounds/s=%.2f (1s 주기를 지키려면 >= 1)", rounds / sec));
+            assertThat(lat).isNotEmpty();
+        }
+    }
+
+    @Test
+    void orderLatency() {
+        ConcurrentLinkedQueue<Long> lat = new ConcurrentLinkedQueue<>();
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> all = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long t0 = System.nanoTime();
+            all.add(orders.submit(OrderGateway.Side.BUY, TradableUs.IREN, 1, new BigDecimal("10.00"))
+                    .whenComplete((odno, e) -> lat.add(System.nanoTime() - t0)));
+        }
+        CompletableFuture.allOf(all.toArray(CompletableFuture[]::new)).join();
+        report("order", lat, (System.nanoTime() - start) / 1e9);
+        assertThat(all).allSatisfy(f -> assertThat(f.join()).isNotBlank());
+    }
+
+    /** 종목별 슬롯이 주기대로 도는지 — 건너뛴 슬롯(overrun) 없이 기대 슬롯 수만큼 수집이 끝나야 함 */
+    @Test
+    void ingestEngineKeepsSchedule() throws InterruptedException {
+        Timer cycle = meters.find("price.ingest.cycle").tag("mode", "engine").timer();
+        Counter overrun = meters.find("price.ingest.overrun").counter();
+        assertThat(cycle).isNotNull();
+        assertThat(overrun).isNotNull();
+        long cycles0 = cycle.count();
+        double overrun0 = overrun.count();
+
+        Thread.sleep(RUN_MS);
+
+        long cycles = cycle.count() - cycles0;
+        double skipped = overrun.count() - overrun0;
+        double expected = watchlist.entries().stream().mapToDouble(e -> (double) RUN_MS / e.intervalMs()).sum();
+        log.info(String.format(Locale.ROOT, "ingest slots: done=%d expected=%.0f overrun=%.0f mean=%.1fms max=%.1fms",
+                cycles, expected, skipped, cycle.mean(TimeUnit.MILLISECONDS), cycle.max(TimeUnit.MILLISECONDS)));
+        assertThat(skipped).isZero();
+        // 측정 구간 양 끝에서 진행 중이던 슬롯만큼 여유
+        assertThat((double) cycles).isGreaterThanOrEqualTo(expected * 0.95 - watchlist.entries().size());
+    }
+
+    private static void report(String name, ConcurrentLinkedQueue<Long> samples, double sec) {
+        long[] ns = samples.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(ns);
+        log.info(String.format(Locale.ROOT, "%s: n=%d %.0f/s p50=%.1fms p99=%.1fms max=%.1fms", name, ns.length,
+                ns.length / sec, pct(ns, 0.50), pct(ns, 0.99), ns.length == 0 ? 0 : ns[ns.length - 1] / 1e6));
+    }
+
+    private static double pct(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,120 @@
+package com.stock.autostock.replay;
+
+import com.stock.autostock.archive.ColumnarTickWriter;
+import com.stock.autostock.archive.TickArchiveReader;
+import com.stock.autostock.config.ArchiveProps;
+import com.stock.autostock.config.PriceIngestJobConfig.TickItem;
+import com.stock.autostock.config.StrategyProps;
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.entity.BaseSymbolTick.PriceSource;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolTick;
+import com.stock.autostock.entity.TickSymbol;
+import com.stock.autostock.event.BuyEvent;
+import com.stock.autostock.event.Event;
+import com.stock.autostock.event.Events;
+import com.stock.autostock.shard.ShardCoordinator;
+import com.stock.autostock.strategy.StrategyEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayDeterminismTests {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 20);
+    private static final Instant OPEN = Instant.parse("2026-10-20T13:30:00Z");
+    private static final List<TradableUs> ASSETS = List.of(TradableUs.IREN, TradableUs.CLSK);
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void resetPublisher() {
+        Events.setPublisher(null);
+    }
+
+    @Test
+    void sameArchiveReplaysToSameTicksAndOrders() throws Exception {
+        writeArchive();
+
+        Run first = replayOnce();
+        Run second = replayOnce();
+
+        assertThat(first.ticks()).isEqualTo(2 * 3_000);
+        assertThat(first.orders()).isPositive();
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void marketOrderIsPricedAtSignalTimeNotReplayClock() {
+        SymbolPriceCache cache = new SymbolPriceCache(Duration.ofSeconds(5), 64);
+        ReplayClock clock = new ReplayClock(OPEN);
+        SimulatedOrderGateway orders = new SimulatedOrderGateway(cache, clock);
+        put(cache, "IREN", "10.00", OPEN);
+        put(cache, "IREN", "11.00", OPEN.plusSeconds(1));
+        clock.advanceTo(OPEN.plusSeconds(1).toEpochMilli());
+
+        orders.on(new BuyEvent(OPEN, TradableUs.IREN, 1, null)); // 신호는 첫 틱 시각 — 시계는 이미 다음 틱
+
+        assertThat(orders.orders()).isEqualTo(1);
+        String[] qtyCash = orders.positions().get("IREN").split("/");
+        assertThat(qtyCash[0]).isEqualTo("1");
+        assertThat(new BigDecimal(qtyCash[1])).isEqualByComparingTo("-10.00");
+    }
+
+    /** 두 종목이 엇갈려 오르내리는 하루 — 임계값을 여러 번 넘나든다 */
+    private void writeArchive() {
+        ColumnarTickWriter w = new ColumnarTickWriter(new ArchiveProps(ArchiveProps.Mode.ONLY, dir.toString(), 256, 1000));
+        for (int i = 0; i < 3_000; i++) {
+            Instant m = OPEN.plusMillis(i * 700L);
+            int swing = (i / 50) % 8;
+            w.append("IREN", DAY, BigDecimal.valueOf(1_000 + swing * 10, 2), m, m.plusMillis(120 + i % 30));
+            w.append("CLSK", DAY, BigDecimal.valueOf(900 - swing * 5, 2), m.plusMillis(350), m.plusMillis(400 + i % 50));
+        }
+        w.flush();
+    }
+
+    private Run replayOnce() throws Exception {
+        SymbolPriceCache cache = new SymbolPriceCache(Duration.ofSeconds(5), 1024);
+        ReplayClock clock = new ReplayClock(Instant.EPOCH);
+        SimulatedOrderGateway orders = new SimulatedOrderGateway(cache, clock);
+        Events.setPublisher(e -> {
+            if (e instanceof Event event) orders.on(event);
+        });
+        new StrategyEngine(cache, null, new StrategyProps(true, 256, 10_000,
+                List.of(new StrategyProps.Threshold("IREN", new BigDecimal("10.00"), new BigDecimal("10.60"), 1),
+                        new StrategyProps.Threshold("CLSK", new BigDecimal("8.70"), new BigDecimal("9.00"), 2)),
+                List.of()),
+                new SimpleMeterRegistry(), new StaticListableBeanFactory().getBeanProvider(ShardCoordinator.class));
+
+        // priceItemWriter 의 캐시 반영만 — 저장은 replay 프로필에서 꺼져 있다
+        ItemWriter<TickItem> writer = items -> items.forEach(it -> cache.put(it.asset().ticker(),
+                new SymbolTick(new TickSymbol(it.asset().ticker(), it.asset().exchange()), DAY,
+                        it.last(), it.marketTs(), it.ingestedAt(), it.source())));
+        ReplayEngine engine = new ReplayEngine(new ReplayProps(ReplayProps.Source.ARCHIVE, DAY, List.of(), false),
+                clock, writer, new TickArchiveReader(dir), null, orders, null, null);
+
+        long ticks = engine.replay(ReplayProps.Source.ARCHIVE, DAY, ASSETS).ticks();
+        return new Run(ticks, orders.orders(), orders.positions());
+    }
+
+    private static void put(SymbolPriceCache cache, String ticker, String last, Instant marketTs) {
+        cache.put(ticker, new SymbolTick(new TickSymbol(ticker, "NASD"), DAY, new BigDecimal(last),
+                marketTs, marketTs.plusMillis(100), PriceSource.PRICE_LAST));
+    }
+
+    private record Run(long ticks, long orders, Map<String, String> positions) {}
+}
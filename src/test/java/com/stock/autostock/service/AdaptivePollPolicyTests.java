@@ -0,0 +1,114 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.config.MarketSessionProps;
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.entity.WatchSymbol;
+import com.stock.autostock.replay.ReplayClock;
+import com.stock.autostock.watchlist.InMemoryWatchSymbolRepository;
+import com.stock.autostock.watchlist.WatchlistProps;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePollPolicyTests {
+
+    private static final TradableUs IREN = new TradableUs("IREN", "NASD");
+
+    private static Instant ny(int day, int hour, int minute) {
+        return ZonedDateTime.of(2026, 10, day, hour, minute, 0, 0, ZoneId.of("America/New_York")).toInstant();
+    }
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final ReplayClock clock = new ReplayClock(ny(20, 10, 0)); // 화요일 정규장
+    private final AdaptivePollPolicy policy = policy();
+
+    private AdaptivePollPolicy policy() {
+        MarketSessionProps props = new MarketSessionProps(true,
+                new MarketSessionProps.Hours(LocalTime.of(4, 0), LocalTime.of(9, 30), LocalTime.of(16, 0),
+                        LocalTime.of(20, 0), LocalTime.of(13, 0), LocalTime.of(17, 0)),
+                List.of(), List.of(), 5000, new MarketSessionProps.Backoff(3, 8));
+        IngestProps ingest = new IngestProps(IngestProps.Mode.ENGINE, 1000, null, null, null, null);
+        Map<String, WatchSymbol> rows = new TreeMap<>(Map.of("IREN", new WatchSymbol("IREN", "NASD", 1000, 0)));
+        WatchlistRegistry watchlist = new WatchlistRegistry(InMemoryWatchSymbolRepository.of(rows),
+                new WatchlistProps(250, 0, List.of()), ingest, meters);
+        return new AdaptivePollPolicy(new MarketSessionCalendar(props), watchlist, props, ingest, clock, meters);
+    }
+
+    /** 1초 슬롯을 n 번 돌리며 조회된 슬롯의 초(시작 기준)를 모음 — 조회하면 marketTs 를 그대로 알려줌 */
+    private List<Long> slots(int n, Instant marketTs) {
+        long start = clock.millis();
+        List<Long> polled = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            clock.advanceTo(start + i * 1000L);
+            if (policy.shouldPoll(IREN)) {
+                polled.add((long) i);
+                policy.observe(IREN, marketTs);
+            }
+        }
+        clock.advanceTo(start + n * 1000L);
+        return polled;
+    }
+
+    private static List<Long> gaps(List<Long> polled) {
+        List<Long> gaps = new ArrayList<>();
+        for (int i = 1; i < polled.size(); i++) gaps.add(polled.get(i) - polled.get(i - 1));
+        return gaps;
+    }
+
+    private double skipped(String reason) {
+        return meters.get("price.ingest.skipped").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void unchangedMarketTsDoublesIntervalUpToMaxAndResetsOnChange() {
+        Instant frozen = ny(20, 9, 59);
+        List<Long> polled = slots(61, frozen);
+        // 3번 연속 같은 marketTs 마다 2배, 8배에서 멈춤
+        assertThat(gaps(polled)).containsExactly(1L, 1L, 1L, 2L, 2L, 2L, 4L, 4L, 4L, 8L, 8L, 8L, 8L);
+        assertThat(skipped("unchanged")).isEqualTo(61 - polled.size());
+
+        // 8배 주기의 다음 조회에서 값이 바뀌면 바로 다음 슬롯부터 원래 주기
+        assertThat(slots(4, frozen.plusSeconds(1))).containsExactly(0L, 1L, 2L, 3L);
+    }
+
+    @Test
+    void switchesModeWithSession() {
+        clock.advanceTo(ny(21, 7, 0).toEpochMilli()); // 프리마켓 — slowIntervalMs(5초)
+        Instant ts = ny(21, 6, 59);
+        List<Long> pre = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            clock.advanceTo(ny(21, 7, 0).toEpochMilli() + i * 1000L);
+            if (policy.shouldPoll(IREN)) {
+                pre.add((long) i);
+                ts = ts.plusSeconds(1); // 값은 계속 바뀜 — 건너뛰는 이유는 백오프가 아니라 세션
+                policy.observe(IREN, ts);
+            }
+        }
+        assertThat(pre).containsExactly(0L, 5L, 10L);
+        assertThat(skipped("slow")).isEqualTo(9);
+        assertThat(skipped("unchanged")).isZero();
+
+        clock.advanceTo(ny(21, 9, 30).toEpochMilli()); // 정규장 — 매 슬롯
+        assertThat(policy.shouldPoll(IREN)).isTrue();
+        policy.observe(IREN, ny(21, 9, 30));
+        clock.advanceTo(ny(21, 9, 30).toEpochMilli() + 1000);
+        assertThat(policy.shouldPoll(IREN)).isTrue();
+
+        clock.advanceTo(ny(21, 20, 0).toEpochMilli()); // 애프터마켓 종료 — 조회 안 함
+        assertThat(policy.shouldPoll(IREN)).isFalse();
+        assertThat(policy.shouldPoll(IREN)).isFalse();
+        assertThat(skipped("closed")).isEqualTo(2);
+    }
+}
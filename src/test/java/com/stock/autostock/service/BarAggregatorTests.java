@@ -0,0 +1,130 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.domain.BarResolution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BarAggregatorTests {
+
+    private static final Instant T0 = Instant.parse("2026-10-20T14:30:00Z");
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final RecordingJdbc jdbc = new RecordingJdbc();
+
+    private BarAggregator aggregator(int maxPending) {
+        IngestProps props = new IngestProps(IngestProps.Mode.ENGINE, 1000,
+                new IngestProps.Writer(500, 1000, maxPending), null, null, null);
+        return new BarAggregator(jdbc, props, meters);
+    }
+
+    private static void tick(BarAggregator bars, long offsetMs, String px) {
+        bars.onTick(1, T0.plusMillis(offsetMs), new BigDecimal(px));
+    }
+
+    @Test
+    void closesBarWhenMarketTsCrossesBoundary() {
+        BarAggregator bars = aggregator(100);
+        tick(bars, 200, "10.00");
+        tick(bars, 900, "10.30");
+        tick(bars, 500, "9.90");    // 같은 봉 안 역전 틱 — 고/저만 반영
+        tick(bars, 999, "10.10");
+        bars.flush();
+        assertThat(jdbc.written).isEmpty(); // 아직 경계를 넘지 않음
+
+        tick(bars, 1_000, "10.20"); // 다음 1초 봉 시작 → 이전 1초 봉만 닫힘
+        bars.flush();
+        assertThat(jdbc.written).containsExactly(new BarAggregator.ClosedBar(1, BarResolution.S1,
+                T0.getEpochSecond(), new BigDecimal("10.00"), new BigDecimal("10.30"),
+                new BigDecimal("9.90"), new BigDecimal("10.10"), 4));
+
+        jdbc.written.clear();
+        tick(bars, 60_000, "10.50"); // 1분 경계 — 1초·1분 봉이 닫히고 5분·1시간 봉은 열린 채
+        bars.flush();
+        assertThat(jdbc.written).extracting(BarAggregator.ClosedBar::resolution)
+                .containsExactlyInAnyOrder(BarResolution.S1, BarResolution.M1);
+        assertThat(jdbc.written).filteredOn(b -> b.resolution() == BarResolution.M1)
+                .singleElement()
+                .satisfies(b -> {
+                    assertThat(b.startSec()).isEqualTo(T0.getEpochSecond());
+                    assertThat(b.close()).isEqualByComparingTo("10.20");
+                    assertThat(b.tickCount()).isEqualTo(5);
+                });
+    }
+
+    @Test
+    void dropsTicksOlderThanClosedBar() {
+        BarAggregator bars = aggregator(100);
+        tick(bars, 1_500, "10.00");
+        tick(bars, 2_100, "10.10"); // 1초 봉 [1s] 닫힘
+        tick(bars, 1_900, "99.00"); // 닫힌 봉 구간의 지각 틱
+        tick(bars, 3_000, "10.20");
+        bars.flush();
+        assertThat(jdbc.written).filteredOn(b -> b.resolution() == BarResolution.S1)
+                .extracting(BarAggregator.ClosedBar::high)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("10.10"));
+    }
+
+    @Test
+    void failedFlushKeepsBarsForNextFlush() {
+        BarAggregator bars = aggregator(100);
+        tick(bars, 0, "10.00");
+        tick(bars, 1_000, "10.10");
+        tick(bars, 2_000, "10.20");
+
+        jdbc.failNext = true;
+        assertThatThrownBy(bars::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(jdbc.written).isEmpty();
+        assertThat(meters.get("bar.write.pending").gauge().value()).isEqualTo(2.0);
+
+        bars.flush();
+        assertThat(jdbc.written).extracting(BarAggregator.ClosedBar::startSec)
+                .containsExactly(T0.getEpochSecond(), T0.getEpochSecond() + 1);
+        assertThat(meters.get("bar.write.pending").gauge().value()).isZero();
+        assertThat(meters.get("bar.write.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void requeueIsBoundedByMaxPendingDroppingOldest() {
+        BarAggregator bars = aggregator(2);
+        for (int i = 0; i <= 4; i++) tick(bars, i * 1_000L, "10.0" + i); // 1초 봉 4개 닫힘
+
+        jdbc.failNext = true;
+        assertThatThrownBy(bars::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(meters.get("bar.write.dropped").counter().count()).isEqualTo(2.0);
+
+        bars.flush();
+        assertThat(jdbc.written).extracting(BarAggregator.ClosedBar::startSec)
+                .containsExactly(T0.getEpochSecond() + 2, T0.getEpochSecond() + 3);
+    }
+
+    /** batchUpdate 만 가로채 기록하는 JdbcTemplate — failNext 면 한 번 실패 */
+    private static final class RecordingJdbc extends JdbcTemplate {
+        final List<BarAggregator.ClosedBar> written = new ArrayList<>();
+        boolean failNext;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            if (failNext) {
+                failNext = false;
+                throw new DataAccessResourceFailureException("db down");
+            }
+            written.addAll((Collection<BarAggregator.ClosedBar>) batchArgs);
+            return new int[0][];
+        }
+    }
+}
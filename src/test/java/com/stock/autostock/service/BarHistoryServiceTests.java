@@ -0,0 +1,31 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.domain.BarResolution;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BarHistoryServiceTests {
+
+    private static BarResolution pick(long seconds, int maxPoints) {
+        return BarHistoryService.resolutionFor(Duration.ofSeconds(seconds), maxPoints);
+    }
+
+    @Test
+    void picksFinestResolutionThatFitsMaxPoints() {
+        assertThat(pick(3_600, 3_600)).isEqualTo(BarResolution.S1); // 정확히 maxPoints 개
+        assertThat(pick(3_601, 3_600)).isEqualTo(BarResolution.M1); // 한 개 초과
+        assertThat(pick(3_600, 60)).isEqualTo(BarResolution.M1);
+        assertThat(pick(3_601, 60)).isEqualTo(BarResolution.M5);    // 1분 봉 61개 → 5분 봉 13개
+        assertThat(pick(300 * 100, 100)).isEqualTo(BarResolution.M5);
+        assertThat(pick(300 * 100 + 1, 100)).isEqualTo(BarResolution.H1);
+    }
+
+    @Test
+    void fallsBackToCoarsestAndTreatsSubSecondAsOneBar() {
+        assertThat(pick(3_600L * 1_000, 10)).isEqualTo(BarResolution.H1); // H1 로도 넘치면 그래도 H1
+        assertThat(BarHistoryService.resolutionFor(Duration.ofMillis(300), 1)).isEqualTo(BarResolution.S1);
+    }
+}
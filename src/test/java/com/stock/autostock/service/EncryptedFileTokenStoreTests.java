@@ -0,0 +1,56 @@
+package com.stock.autostock.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncryptedFileTokenStoreTests {
+
+    private static final TokenStore.Stored TOKEN =
+            new TokenStore.Stored("Bearer eyJ0eXAiOiJKV1Qi.토큰", Instant.parse("2026-10-20T09:00:00Z"));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsTokenAndExpiry() {
+        Path file = dir.resolve("nested/kis-token.bin");
+        new EncryptedFileTokenStore(file, "app-key", "app-secret").save(TOKEN);
+
+        assertThat(new EncryptedFileTokenStore(file, "app-key", "app-secret").load()).contains(TOKEN);
+    }
+
+    @Test
+    void otherAppKeyCannotReadIt() {
+        Path file = dir.resolve("kis-token.bin");
+        new EncryptedFileTokenStore(file, "app-key", "app-secret").save(TOKEN);
+
+        assertThat(new EncryptedFileTokenStore(file, "other-key", "app-secret").load()).isEmpty(); // AAD 불일치
+        assertThat(new EncryptedFileTokenStore(file, "app-key", "other-secret").load()).isEmpty(); // 키 불일치
+    }
+
+    @Test
+    void corruptOrTruncatedFileIsIgnored() throws IOException {
+        Path file = dir.resolve("kis-token.bin");
+        EncryptedFileTokenStore store = new EncryptedFileTokenStore(file, "app-key", "app-secret");
+        assertThat(store.load()).isEmpty(); // 파일 없음
+
+        store.save(TOKEN);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x01; // 태그 변조
+        Files.write(file, bytes);
+        assertThat(store.load()).isEmpty();
+
+        Files.write(file, new byte[]{1, 2, 3}); // 헤더보다 짧음
+        assertThat(store.load()).isEmpty();
+
+        store.save(TOKEN); // 다시 발급받으면 덮어씀
+        assertThat(store.load()).contains(TOKEN);
+    }
+}
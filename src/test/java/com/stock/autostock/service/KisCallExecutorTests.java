@@ -0,0 +1,135 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.KisClientProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KisCallExecutorTests {
+
+    private static final long OPEN = TimeUnit.MILLISECONDS.toNanos(10_000);
+
+    @Test
+    void breakerOpensAfterThresholdAndAllowsOneHalfOpenTrial() {
+        KisCallExecutor.Breaker b = new KisCallExecutor.Breaker(3, OPEN);
+        for (int i = 0; i < 3; i++) {
+            assertThat(b.tryAcquire(0)).isTrue();
+            b.onFailure(0);
+        }
+        assertThat(b.allows(OPEN - 1)).isFalse();
+        assertThat(b.tryAcquire(OPEN - 1)).isFalse();
+
+        assertThat(b.tryAcquire(OPEN)).isTrue();   // half-open 시험 1건
+        assertThat(b.tryAcquire(OPEN)).isFalse();  // 시험 중엔 나머지 차단
+        b.onFailure(OPEN);                         // 시험 실패 → 다시 개방
+        assertThat(b.tryAcquire(OPEN + 1)).isFalse();
+
+        assertThat(b.tryAcquire(2 * OPEN)).isTrue();
+        b.onSuccess();                             // 시험 성공 → 닫힘
+        assertThat(b.allows(2 * OPEN)).isTrue();
+        assertThat(b.tryAcquire(2 * OPEN)).isTrue();
+    }
+
+    @Test
+    void releaseFreesTrialWithoutClosing() {
+        KisCallExecutor.Breaker b = new KisCallExecutor.Breaker(1, OPEN);
+        b.onFailure(0);
+        assertThat(b.tryAcquire(OPEN)).isTrue();
+        b.release();
+        assertThat(b.allows(OPEN)).isTrue();       // 다음 시험 가능
+        assertThat(b.tryAcquire(OPEN)).isTrue();
+    }
+
+    @Test
+    void tokenOutageOnHalfOpenTrialCountsAsFailureAndDoesNotWedgeTheCircuit() throws Exception {
+        AtomicBoolean tokenDown = new AtomicBoolean(false);
+        KisCallExecutor calls = executor(tokenDown, 1, 50);
+
+        assertThatThrownBy(() -> calls.call("quote", KisCallExecutor.Retry.NON_IDEMPOTENT, auth -> {
+            throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        })).isInstanceOf(HttpServerErrorException.class);
+        assertThat(calls.allows("quote")).isFalse();
+
+        Thread.sleep(60);
+        tokenDown.set(true);
+        assertThatThrownBy(() -> calls.call("quote", KisCallExecutor.Retry.IDEMPOTENT, auth -> "ok"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(calls.allows("quote")).isFalse(); // 토큰 장애도 실패 — 다시 개방
+
+        Thread.sleep(60);
+        tokenDown.set(false);
+        assertThat(calls.allows("quote")).isTrue();  // 시험 슬롯이 풀려 있음
+        assertThat(calls.call("quote", KisCallExecutor.Retry.IDEMPOTENT, auth -> auth)).isEqualTo("Bearer t");
+    }
+
+    @Test
+    void unexpectedErrorOnTrialReleasesInsteadOfClosing() throws Exception {
+        KisCallExecutor calls = executor(new AtomicBoolean(false), 1, 50);
+        assertThatThrownBy(() -> calls.call("order", KisCallExecutor.Retry.NON_IDEMPOTENT, auth -> {
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+        })).isInstanceOf(HttpServerErrorException.class);
+
+        Thread.sleep(60);
+        assertThatThrownBy(() -> calls.call("order", KisCallExecutor.Retry.NON_IDEMPOTENT, auth -> {
+            throw new IllegalStateException("rt_cd=1");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(calls.allows("order")).isTrue(); // 시험은 풀렸고
+        assertThat(calls.call("order", KisCallExecutor.Retry.NON_IDEMPOTENT, auth -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void halfOpenOrderWithHashKeyClosesTheOrderCircuit() throws Exception {
+        AtomicInteger bearerCalls = new AtomicInteger();
+        KisCallExecutor calls = executor(new AtomicBoolean(false), bearerCalls, 1, 50);
+        assertThatThrownBy(() -> calls.call(KisTradingService.OP_ORDER, KisCallExecutor.Retry.NON_IDEMPOTENT, auth -> {
+            throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        })).isInstanceOf(HttpServerErrorException.class);
+        assertThat(calls.allows(KisTradingService.OP_ORDER)).isFalse();
+
+        Thread.sleep(60);
+        bearerCalls.set(0);
+        // 주문 경로와 같은 순서: 해시키(자기 회로, 토큰 없이) → 주문 회로의 half-open 시험
+        String hashKey = calls.callWithoutToken(KisTradingService.OP_HASHKEY, KisCallExecutor.Retry.IDEMPOTENT, () -> "H");
+        assertThat(bearerCalls).hasValue(0);
+        assertThat(calls.allows(KisTradingService.OP_ORDER)).isTrue(); // 해시키가 시험 슬롯을 쓰지 않음
+
+        String placed = calls.call(KisTradingService.OP_ORDER, KisCallExecutor.Retry.NON_IDEMPOTENT,
+                auth -> auth + "/" + hashKey);
+        assertThat(placed).isEqualTo("Bearer t/H");
+        assertThat(bearerCalls).hasValue(1);
+        assertThat(calls.allows(KisTradingService.OP_ORDER)).isTrue();
+        assertThat(calls.call(KisTradingService.OP_ORDER, KisCallExecutor.Retry.NON_IDEMPOTENT, auth -> "next"))
+                .isEqualTo("next"); // 시험 성공으로 닫힘 — 다음 주문도 통과
+    }
+
+    private static KisCallExecutor executor(AtomicBoolean tokenDown, int threshold, long openMs) {
+        return executor(tokenDown, new AtomicInteger(), threshold, openMs);
+    }
+
+    private static KisCallExecutor executor(AtomicBoolean tokenDown, AtomicInteger bearerCalls, int threshold, long openMs) {
+        TokenManagerLean tokens = new TokenManagerLean(null, "k", "s", Clock.systemUTC(), null, 0) {
+            @Override
+            public String bearer() {
+                bearerCalls.incrementAndGet();
+                if (tokenDown.get()) throw new IllegalStateException("KIS 토큰 발급 실패");
+                return "Bearer t";
+            }
+        };
+        KisClientProps props = new KisClientProps(
+                new KisClientProps.Quote(8),
+                new KisClientProps.RateLimit(18, 18, 250),
+                new KisClientProps.Resilience(3, 1, 2, threshold, openMs),
+                new KisClientProps.Order(true),
+                new KisClientProps.Token("", 0));
+        return new KisCallExecutor(tokens, props, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,43 @@
+package com.stock.autostock.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisStreamDecoderTests {
+
+    private final KisStreamDecoder decoder = new KisStreamDecoder(ZoneId.of("America/New_York"));
+
+    private static String record(String ticker, String ymd, String hms, String last) {
+        return String.join("^", "DNAS" + ticker, ticker, "4", ymd, ymd, hms, "20250103", "003015",
+                "12.0000", "12.5000", "11.9000", last, "2", "0.2456", "2.03",
+                last, last, "100", "100", "1", "1000", last, "0", "0", "100.00", "1");
+    }
+
+    @Test
+    void decodesMultiRecordExecutionFrame() {
+        String frame = "0|HDFSCNT0|002|" + record("IREN", "20250102", "103015", "12.3456")
+                + "^" + record("CLSK", "20250702", "093000", "9.87");
+        List<String> out = new ArrayList<>();
+
+        int n = decoder.decode(frame, (f, s, e, price, sec) ->
+                out.add(f.subSequence(s, e) + "/" + price + "/" + Instant.ofEpochSecond(sec)));
+
+        assertThat(n).isEqualTo(2);
+        assertThat(out).containsExactly(
+                "IREN/1234560000/2025-01-02T15:30:15Z",  // EST (UTC-5)
+                "CLSK/987000000/2025-07-02T13:30:00Z");  // EDT (UTC-4)
+    }
+
+    @Test
+    void ignoresControlAndOtherFrames() {
+        assertThat(decoder.decode("{\"header\":{\"tr_id\":\"PINGPONG\"}}", (f, s, e, p, t) -> { })).isEqualTo(-1);
+        assertThat(decoder.decode("1|H0GSCNI0|001|encrypted", (f, s, e, p, t) -> { })).isEqualTo(-1);
+        assertThat(decoder.decode("0|HDFSASP0|001|DNASIREN^IREN", (f, s, e, p, t) -> { })).isEqualTo(-1);
+    }
+}
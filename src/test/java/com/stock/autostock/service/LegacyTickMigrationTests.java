@@ -0,0 +1,97 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.entity.TickSymbolRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 통합 tick 이전의 종목별 테이블(tick_iren)을 미리 만들어 둔 DB 에 이관을 돌려 본다.
+ * 기본 in-memory H2 에는 그런 테이블이 없으므로 실제로 의미 있는 건 파일/서버 DB 를 이어 쓸 때뿐.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // DDL 이 암묵 커밋하므로 테스트 트랜잭션으로 감싸지 않음
+class LegacyTickMigrationTests {
+
+    @Autowired
+    JdbcTemplate jdbc;
+    @Autowired
+    TickSymbolRepository symbols;
+
+    @BeforeEach
+    void seedLegacyTable() {
+        // 종목별 엔티티 시절 Hibernate 가 만든 스키마 (BaseSymbolTick 컬럼)
+        jdbc.execute("CREATE TABLE tick_iren (id BIGINT AUTO_INCREMENT PRIMARY KEY, exchange VARCHAR(8) NOT NULL, " +
+                "last DECIMAL(19,8) NOT NULL, market_ts TIMESTAMP(6) WITH TIME ZONE NOT NULL, " +
+                "ingested_at TIMESTAMP(6) WITH TIME ZONE NOT NULL, source VARCHAR(16) NOT NULL, latency_ms BIGINT NOT NULL)");
+        legacy(Instant.parse("2026-10-20T14:30:00Z"), "10.50");
+        legacy(Instant.parse("2026-10-21T01:00:00Z"), "10.80"); // 뉴욕 10/20 21:00 — UTC 날짜와 다름
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.execute("DROP TABLE IF EXISTS tick_iren");
+        jdbc.execute("DELETE FROM tick");
+        jdbc.execute("DELETE FROM tick_symbol");
+    }
+
+    private void legacy(Instant marketTs, String last) {
+        jdbc.update("INSERT INTO tick_iren (exchange, last, market_ts, ingested_at, source, latency_ms) " +
+                        "VALUES ('NASD', ?, ?, ?, 'PRICE_LAST', 80)",
+                new BigDecimal(last), Timestamp.from(marketTs), Timestamp.from(marketTs.plusMillis(80)));
+    }
+
+    private LegacyTickMigration migration(boolean dropLegacy) {
+        IngestProps props = new IngestProps(IngestProps.Mode.ENGINE, 1000, null,
+                new IngestProps.Store(true, dropLegacy, true), null, null);
+        return new LegacyTickMigration(jdbc, new SymbolInterner(symbols), props);
+    }
+
+    private boolean legacyExists() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'TICK_IREN'",
+                Integer.class) > 0;
+    }
+
+    private record Moved(String ticker, LocalDate tradingDay, BigDecimal last, Instant marketTs) {}
+
+    private List<Moved> moved() {
+        return jdbc.query("SELECT s.ticker, t.trading_day, t.last, t.market_ts FROM tick t " +
+                        "JOIN tick_symbol s ON s.id = t.symbol_id ORDER BY t.market_ts",
+                (rs, i) -> new Moved(rs.getString(1), rs.getObject(2, LocalDate.class),
+                        rs.getBigDecimal(3).stripTrailingZeros(), rs.getTimestamp(4).toInstant()));
+    }
+
+    @Test
+    void movesLegacyRowsWithExchangeLocalTradingDayAndIsIdempotent() {
+        migration(false).run(null);
+        List<Moved> first = moved();
+        assertThat(first).containsExactly(
+                new Moved("IREN", LocalDate.parse("2026-10-20"), new BigDecimal("10.5"), Instant.parse("2026-10-20T14:30:00Z")),
+                new Moved("IREN", LocalDate.parse("2026-10-20"), new BigDecimal("10.8"), Instant.parse("2026-10-21T01:00:00Z")));
+        assertThat(legacyExists()).isTrue();
+
+        migration(false).run(null); // 재실행 — MERGE 라 중복 없음
+        assertThat(moved()).isEqualTo(first);
+    }
+
+    @Test
+    void dropsLegacyTableOnlyWhenConfigured() {
+        migration(true).run(null);
+        assertThat(moved()).hasSize(2);
+        assertThat(legacyExists()).isFalse();
+    }
+}
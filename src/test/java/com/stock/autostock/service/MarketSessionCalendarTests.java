@@ -0,0 +1,59 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.MarketSessionProps;
+import com.stock.autostock.service.MarketSessionCalendar.Mode;
+import com.stock.autostock.service.MarketSessionCalendar.Session;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarketSessionCalendarTests {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private final MarketSessionCalendar calendar = new MarketSessionCalendar(new MarketSessionProps(
+            true,
+            new MarketSessionProps.Hours(LocalTime.of(4, 0), LocalTime.of(9, 30), LocalTime.of(16, 0),
+                    LocalTime.of(20, 0), LocalTime.of(13, 0), LocalTime.of(17, 0)),
+            List.of(LocalDate.of(2026, 11, 26)),
+            List.of(LocalDate.of(2026, 11, 27)),
+            5000,
+            new MarketSessionProps.Backoff(3, 8)));
+
+    private static Instant ny(int month, int day, int hour, int minute) {
+        return ZonedDateTime.of(2026, month, day, hour, minute, 0, 0, NEW_YORK).toInstant();
+    }
+
+    @Test
+    void regularDayMovesThroughAllSessions() {
+        // 2026-10-20 화요일
+        assertThat(calendar.sessionAt("NASD", ny(10, 20, 3, 59))).isEqualTo(Session.CLOSED);
+        assertThat(calendar.sessionAt("NASD", ny(10, 20, 4, 0))).isEqualTo(Session.PRE);
+        assertThat(calendar.sessionAt("NASD", ny(10, 20, 9, 30))).isEqualTo(Session.REGULAR);
+        assertThat(calendar.sessionAt("NASD", ny(10, 20, 15, 59))).isEqualTo(Session.REGULAR);
+        assertThat(calendar.sessionAt("NASD", ny(10, 20, 16, 0))).isEqualTo(Session.POST);
+        assertThat(calendar.sessionAt("NASD", ny(10, 20, 20, 0))).isEqualTo(Session.CLOSED);
+        assertThat(calendar.modeAt("NYSE", ny(10, 20, 7, 0))).isEqualTo(Mode.SLOW);
+    }
+
+    @Test
+    void weekendsHolidaysAndHalfDays() {
+        assertThat(calendar.modeAt("NASD", ny(10, 17, 11, 0))).isEqualTo(Mode.SUSPENDED); // 토요일
+        assertThat(calendar.modeAt("NASD", ny(11, 26, 11, 0))).isEqualTo(Mode.SUSPENDED); // 추수감사절
+        assertThat(calendar.sessionAt("NASD", ny(11, 27, 12, 59))).isEqualTo(Session.REGULAR);
+        assertThat(calendar.sessionAt("NASD", ny(11, 27, 13, 0))).isEqualTo(Session.POST);
+        assertThat(calendar.sessionAt("NASD", ny(11, 27, 17, 0))).isEqualTo(Session.CLOSED);
+    }
+
+    @Test
+    void unknownExchangeIsAlwaysOpen() {
+        assertThat(calendar.modeAt("KRX", ny(10, 17, 11, 0))).isEqualTo(Mode.FULL);
+    }
+}
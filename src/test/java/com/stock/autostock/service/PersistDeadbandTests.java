@@ -0,0 +1,38 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistDeadbandTests {
+
+    private static final Instant T0 = Instant.parse("2026-10-20T14:30:00Z");
+
+    private final PersistDeadband deadband =
+            new PersistDeadband(new IngestProps.Dedup(true, 10, 60_000), new SimpleMeterRegistry()); // 0.1%
+
+    private boolean persist(String last, Instant marketTs) {
+        return deadband.shouldPersist("IREN", new BigDecimal(last), marketTs);
+    }
+
+    @Test
+    void dropsSmallMovesButNotAccumulatedDrift() {
+        assertThat(persist("100.00", T0)).isTrue();
+        assertThat(persist("100.05", T0.plusSeconds(1))).isFalse();   // 0.05%
+        assertThat(persist("100.09", T0.plusSeconds(2))).isFalse();   // 기준은 여전히 100.00
+        assertThat(persist("100.10", T0.plusSeconds(3))).isTrue();    // 누적 0.1%
+        assertThat(persist("99.95", T0.plusSeconds(4))).isTrue();     // 100.10 대비 -0.15%
+    }
+
+    @Test
+    void keepsOneTickPerMaxGapWhileFlat() {
+        assertThat(persist("100.00", T0)).isTrue();
+        assertThat(persist("100.00", T0.plusSeconds(59))).isFalse();
+        assertThat(persist("100.00", T0.plusSeconds(60))).isTrue();
+    }
+}
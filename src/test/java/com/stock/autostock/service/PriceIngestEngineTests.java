@@ -0,0 +1,100 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.entity.WatchSymbol;
+import com.stock.autostock.watchlist.InMemoryWatchSymbolRepository;
+import com.stock.autostock.watchlist.WatchlistProps;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 관심종목 변경 시 슬롯 재배치 — 주기를 1분으로 길게 잡아 테스트 중에는 슬롯이 실행되지 않는다
+ */
+class PriceIngestEngineTests {
+
+    private static final long MINUTE = 60_000;
+
+    private WatchlistRegistry watchlist;
+    private PriceIngestEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, WatchSymbol> rows = new TreeMap<>();
+        for (String t : List.of("AAA", "BBB", "CCC")) rows.put(t, new WatchSymbol(t, "NASD", MINUTE, 0));
+        IngestProps ingest = new IngestProps(IngestProps.Mode.ENGINE, MINUTE, null, null, null, null);
+        watchlist = new WatchlistRegistry(InMemoryWatchSymbolRepository.of(rows),
+                new WatchlistProps(250, 0, List.of()), ingest, new SimpleMeterRegistry());
+        engine = new PriceIngestEngine(asset -> null, chunk -> {}, new SyncTaskExecutor(),
+                new ResourcelessTransactionManager(), watchlist, null, new SimpleMeterRegistry(), new MockEnvironment());
+        engine.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    private static long phase(ScheduledFuture<?> f) {
+        return Math.floorMod(f.getDelay(TimeUnit.MILLISECONDS), MINUTE);
+    }
+
+    private static long distance(long a, long b) {
+        long d = Math.floorMod(a - b, MINUTE);
+        return Math.min(d, MINUTE - d);
+    }
+
+    @Test
+    void onlyChangedSymbolsAreRescheduled() {
+        ScheduledFuture<?> a = engine.slotOf("AAA");
+        ScheduledFuture<?> b = engine.slotOf("BBB");
+        ScheduledFuture<?> c = engine.slotOf("CCC");
+        assertThat(List.of(a, b, c)).doesNotContainNull();
+
+        // 추가 — 기존 슬롯은 그대로, 새 종목은 빈 구간(기존 세 슬롯과 각각 20초 간격) 가운데
+        watchlist.upsert("DDD", "NASD", MINUTE, 0);
+        assertThat(engine.slotOf("AAA")).isSameAs(a);
+        assertThat(engine.slotOf("BBB")).isSameAs(b);
+        assertThat(engine.slotOf("CCC")).isSameAs(c);
+        long d = phase(engine.slotOf("DDD"));
+        for (ScheduledFuture<?> f : List.of(a, b, c)) assertThat(distance(d, phase(f))).isGreaterThanOrEqualTo(9_000);
+
+        // 우선순위만 바뀜 — 재배치 없음
+        watchlist.upsert("AAA", null, null, 5);
+        assertThat(engine.slotOf("AAA")).isSameAs(a);
+
+        // 주기 변경 — 그 종목만 새 슬롯
+        watchlist.upsert("BBB", null, 2 * MINUTE, null);
+        assertThat(b.isCancelled()).isTrue();
+        assertThat(engine.slotOf("BBB")).isNotSameAs(b);
+        assertThat(engine.slotOf("AAA")).isSameAs(a);
+        assertThat(engine.slotOf("CCC")).isSameAs(c);
+
+        // 삭제 — 그 종목 슬롯만 해제
+        watchlist.remove("CCC");
+        assertThat(c.isCancelled()).isTrue();
+        assertThat(engine.slotOf("CCC")).isNull();
+        assertThat(a.isCancelled()).isFalse();
+    }
+
+    @Test
+    void stopCancelsAllSlots() {
+        ScheduledFuture<?> a = engine.slotOf("AAA");
+        engine.stop();
+        assertThat(a.isCancelled()).isTrue();
+        assertThat(engine.slotOf("AAA")).isNull();
+    }
+}
@@ -0,0 +1,122 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.entity.BaseSymbolTick.PriceSource;
+import com.stock.autostock.entity.SymbolTick;
+import com.stock.autostock.entity.TickSymbol;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TickBatchWriterTests {
+
+    private static final TickSymbol IREN = new TickSymbol("IREN", "NASD");
+    private static final Instant T0 = Instant.parse("2026-10-20T14:30:00Z");
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final FlakyJdbc jdbc = new FlakyJdbc();
+
+    private TickBatchWriter writer(int flushSize, int maxPending) {
+        return new TickBatchWriter(jdbc, new IngestProps(IngestProps.Mode.ENGINE, 1000,
+                new IngestProps.Writer(flushSize, 60_000, maxPending), null, null, null), meters);
+    }
+
+    private static List<SymbolTick> ticks(int n) {
+        return IntStream.range(0, n)
+                .mapToObj(i -> new SymbolTick(IREN, LocalDate.of(2026, 10, 20), BigDecimal.valueOf(10 + i),
+                        T0.plusSeconds(i), T0.plusSeconds(i).plusMillis(50), PriceSource.PRICE_LAST))
+                .toList();
+    }
+
+    private double pending() {
+        return meters.get("tick.write.pending").gauge().value();
+    }
+
+    private double dropped() {
+        return meters.get("tick.write.dropped").counter().count();
+    }
+
+    @Test
+    void failedFlushRewritesRowsOnNextFlush() {
+        TickBatchWriter w = writer(100, 1000);
+        List<SymbolTick> ticks = ticks(3);
+        ticks.forEach(w::add);
+
+        jdbc.failures = 1;
+        assertThatThrownBy(w::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(jdbc.written).isEmpty();
+        assertThat(pending()).isEqualTo(3.0);
+
+        w.flush();
+        assertThat(jdbc.written).containsExactlyElementsOf(ticks);
+        assertThat(pending()).isZero();
+        assertThat(dropped()).isZero();
+    }
+
+    @Test
+    void requeueKeepsNewestUpToMaxPending() {
+        TickBatchWriter w = writer(100, 5);
+        List<SymbolTick> ticks = ticks(7);
+        ticks.forEach(w::add);
+
+        jdbc.failures = 1;
+        assertThatThrownBy(w::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(pending()).isEqualTo(5.0);
+        assertThat(dropped()).isEqualTo(2.0);
+
+        w.flush();
+        assertThat(jdbc.written).containsExactlyElementsOf(ticks.subList(2, 7)); // 오래된 2건을 버림
+    }
+
+    @Test
+    void addDoesNotRetryFlushInsideRetryWindow() {
+        TickBatchWriter w = writer(3, 1000);
+        List<SymbolTick> ticks = ticks(5);
+
+        jdbc.failures = 1;
+        ticks.subList(0, 3).forEach(w::add);   // flushSize 도달 → 호출 스레드 flush 실패 (삼킴)
+        assertThat(jdbc.attempts).isEqualTo(1);
+        assertThat(pending()).isEqualTo(3.0);
+
+        ticks.subList(3, 5).forEach(w::add);   // 임계치는 넘었지만 flushIntervalMs 동안은 재시도 안 함
+        assertThat(jdbc.attempts).isEqualTo(1);
+        assertThat(pending()).isEqualTo(5.0);
+
+        w.flush();                             // 주기 flusher 몫 — 밀린 행 전부 기록
+        assertThat(jdbc.attempts).isEqualTo(2);
+        assertThat(jdbc.written).containsExactlyElementsOf(ticks);
+    }
+
+    /** batchUpdate 만 가로채 기록하는 JdbcTemplate — failures 만큼 먼저 실패 */
+    private static final class FlakyJdbc extends JdbcTemplate {
+        final List<SymbolTick> written = new ArrayList<>();
+        int failures;
+        int attempts;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            attempts++;
+            if (failures > 0) {
+                failures--;
+                throw new DataAccessResourceFailureException("db down");
+            }
+            written.addAll((Collection<SymbolTick>) batchArgs);
+            return new int[0][];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.PriceIngestJobConfig.TickItem;
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.entity.BaseSymbolTick.PriceSource;
+import com.stock.autostock.entity.SymbolPriceCache;
+import com.stock.autostock.entity.SymbolTick;
+import com.stock.autostock.entity.TickSymbol;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickChangeFilterTests {
+
+    private static final Instant T0 = Instant.parse("2026-10-20T14:30:00Z");
+
+    private final SymbolPriceCache cache = new SymbolPriceCache(Duration.ofMinutes(5), 16);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    private static TickItem tick(String last, Instant marketTs) {
+        return new TickItem(TradableUs.IREN, new BigDecimal(last), marketTs, marketTs.plusMillis(200),
+                PriceSource.PRICE_LAST);
+    }
+
+    /** 통과한 틱은 writer 가 캐시에 넣는다 — 그 동작만 흉내 */
+    private TickItem pass(TickChangeFilter filter, TickItem item) {
+        TickItem out = filter.process(item);
+        if (out != null) {
+            cache.put("IREN", new SymbolTick(new TickSymbol("IREN", "NASD"), LocalDate.of(2026, 10, 20),
+                    out.last(), out.marketTs(), out.ingestedAt(), out.source()));
+        }
+        return out;
+    }
+
+    @Test
+    void dropsRepeatedAndLateQuotes() {
+        TickChangeFilter filter = new TickChangeFilter(cache, meters);
+
+        assertThat(pass(filter, tick("12.30", T0))).isNotNull();                  // 첫 틱
+        assertThat(pass(filter, tick("12.3000", T0))).isNull();                   // 같은 값 (scale 만 다름)
+        assertThat(pass(filter, tick("12.31", T0))).isNotNull();                  // 같은 초, 다른 가격
+        assertThat(pass(filter, tick("12.40", T0.minusSeconds(1)))).isNull();     // 늦게 온 과거 값
+        assertThat(pass(filter, tick("12.31", T0.plusSeconds(1)))).isNotNull();   // 새 체결
+
+        assertThat(meters.get("price.ingest.dedup").tag("result", "duplicate").counter().count()).isEqualTo(2);
+        assertThat(meters.get("price.ingest.dedup").tag("result", "passed").counter().count()).isEqualTo(3);
+    }
+}
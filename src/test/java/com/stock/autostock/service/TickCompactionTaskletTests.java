@@ -0,0 +1,208 @@
+package com.stock.autostock.service;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.config.RetentionProps;
+import com.stock.autostock.config.TickRetentionJobConfig;
+import com.stock.autostock.domain.BarResolution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * tickRetentionJob 전체(롤업/보관 → 틱 삭제 → 1s 봉 삭제)를 H2 에 돌려, 지워진 원시 틱과
+ * 다시 집계된 봉·보관 CSV 가 일치하는지, 보관이 실패하면 원시 틱이 남는지 본다.
+ */
+class TickCompactionTaskletTests {
+
+    private static final LocalDate OLD_DAY = LocalDate.parse("2026-10-05");
+    private static final LocalDate KEPT_DAY = LocalDate.parse("2026-10-12");
+    private static final LocalDate CUTOFF = LocalDate.parse("2026-10-10");
+    private static final Map<Integer, String> SYMBOLS = Map.of(1, "IREN", 2, "CLSK");
+
+    @TempDir
+    Path dir;
+
+    private DriverManagerDataSource ds;
+    private JdbcTemplate jdbc;
+    private final List<Row> ticks = new ArrayList<>();
+    private final List<Row> expired = new ArrayList<>(); // cutoff 이전 — symbol_id, market_ts 순으로 넣음
+
+    @BeforeEach
+    void setUp() {
+        ds = new DriverManagerDataSource("jdbc:h2:mem:retention-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(ds);
+        new ResourceDatabasePopulator(new ClassPathResource("org/springframework/batch/core/schema-h2.sql")).execute(ds);
+        jdbc.execute("CREATE TABLE tick_symbol (id INT PRIMARY KEY, ticker VARCHAR(16) NOT NULL, exchange VARCHAR(8) NOT NULL)");
+        jdbc.execute("CREATE TABLE tick (id BIGINT AUTO_INCREMENT PRIMARY KEY, symbol_id INT NOT NULL, " +
+                "trading_day DATE NOT NULL, exchange VARCHAR(8) NOT NULL, last DECIMAL(19,8) NOT NULL, " +
+                "market_ts TIMESTAMP(6) WITH TIME ZONE NOT NULL, ingested_at TIMESTAMP(6) WITH TIME ZONE NOT NULL, " +
+                "source VARCHAR(16) NOT NULL, latency_ms BIGINT NOT NULL)");
+        jdbc.execute("CREATE TABLE tick_bar (id BIGINT AUTO_INCREMENT PRIMARY KEY, symbol_id INT NOT NULL, " +
+                "res_sec INT NOT NULL, bar_start TIMESTAMP(6) WITH TIME ZONE NOT NULL, open DECIMAL(19,8) NOT NULL, " +
+                "high DECIMAL(19,8) NOT NULL, low DECIMAL(19,8) NOT NULL, close DECIMAL(19,8) NOT NULL, " +
+                "tick_count INT NOT NULL, UNIQUE (symbol_id, res_sec, bar_start))");
+        SYMBOLS.forEach((id, ticker) -> jdbc.update("INSERT INTO tick_symbol VALUES (?, ?, 'NASD')", id, ticker));
+
+        Instant open = Instant.parse("2026-10-05T13:30:00Z");
+        insert(1, OLD_DAY, open.plusSeconds(10), "10.00");
+        insert(1, OLD_DAY, open.plusSeconds(50), "10.40");
+        insert(1, OLD_DAY, open.plusSeconds(55), "9.80");
+        insert(1, OLD_DAY, open.plusSeconds(65), "10.10");   // 다음 1분 봉
+        insert(1, OLD_DAY, open.plusSeconds(360), "10.25");  // 다음 5분 봉
+        insert(1, OLD_DAY, open.plusSeconds(1_900), "10.60"); // 다음 1시간 봉
+        insert(2, OLD_DAY, open.plusSeconds(5), "7.50");
+        insert(2, OLD_DAY, open.plusSeconds(70), "7.45");
+        insert(1, KEPT_DAY, Instant.parse("2026-10-12T13:30:00Z"), "11.00"); // 보관기간 안 — 그대로 남아야 함
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    private void insert(int symbolId, LocalDate day, Instant marketTs, String last) {
+        jdbc.update("INSERT INTO tick (symbol_id, trading_day, exchange, last, market_ts, ingested_at, source, latency_ms) " +
+                        "VALUES (?, ?, 'NASD', ?, ?, ?, 'PRICE_LAST', 120)",
+                symbolId, Date.valueOf(day), new BigDecimal(last), Timestamp.from(marketTs),
+                Timestamp.from(marketTs.plusMillis(120)));
+        Row row = new Row(SYMBOLS.get(symbolId), marketTs, new BigDecimal(last).stripTrailingZeros());
+        ticks.add(row);
+        if (day.isBefore(CUTOFF)) expired.add(row);
+    }
+
+    private JobExecution runJob(RetentionProps.Archive archive) throws Exception {
+        var tx = new DataSourceTransactionManager(ds);
+        var factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(ds);
+        factory.setTransactionManager(tx);
+        factory.afterPropertiesSet();
+        JobRepository repo = factory.getObject();
+
+        var props = new RetentionProps(true, "0 30 7 * * ?", "UTC", 5, 2, archive);
+        var config = new TickRetentionJobConfig();
+        var bars = new BarAggregator(jdbc,
+                new IngestProps(IngestProps.Mode.ENGINE, 1000, new IngestProps.Writer(500, 1000, 1000), null, null, null),
+                new SimpleMeterRegistry());
+        Job job = config.tickRetentionJob(repo, tx,
+                config.tickCompactionTasklet(jdbc, bars, props, CUTOFF),
+                config.tickPurgeTasklet(jdbc, props, CUTOFF),
+                config.secondBarPurgeTasklet(jdbc, props, CUTOFF));
+
+        var launcher = new TaskExecutorJobLauncher();
+        launcher.setJobRepository(repo);
+        launcher.afterPropertiesSet();
+        return launcher.run(job, new JobParametersBuilder().addLocalDate("cutoff", CUTOFF).toJobParameters());
+    }
+
+    @Test
+    void rollsUpAndArchivesExactlyTheTicksItDeletes() throws Exception {
+        JobExecution run = runJob(new RetentionProps.Archive(true, dir.toString()));
+        assertThat(run.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM tick", Integer.class)).isEqualTo(ticks.size() - expired.size());
+        assertThat(jdbc.queryForObject("SELECT trading_day FROM tick", LocalDate.class)).isEqualTo(KEPT_DAY);
+
+        // 보관 CSV — 지워진 틱 전부, 종목/시각 순
+        List<Row> archived = readArchive(dir.resolve("tick-" + OLD_DAY + ".csv.gz"));
+        assertThat(archived).containsExactlyElementsOf(expired);
+        try (var files = Files.list(dir)) {
+            assertThat(files.map(p -> p.getFileName().toString())).containsExactly("tick-" + OLD_DAY + ".csv.gz");
+        }
+
+        // 롤업 봉 — 지워진 틱을 직접 묶은 결과와 같아야 함
+        List<Bar> expected = new ArrayList<>();
+        for (BarResolution res : List.of(BarResolution.M1, BarResolution.M5, BarResolution.H1)) {
+            expected.addAll(rollup(expired, res));
+        }
+        List<Bar> written = jdbc.query(
+                "SELECT s.ticker, b.res_sec, b.bar_start, b.open, b.high, b.low, b.close, b.tick_count " +
+                        "FROM tick_bar b JOIN tick_symbol s ON s.id = b.symbol_id",
+                (rs, i) -> new Bar(rs.getString(1), rs.getInt(2), rs.getTimestamp(3).toInstant(),
+                        rs.getBigDecimal(4).stripTrailingZeros(), rs.getBigDecimal(5).stripTrailingZeros(),
+                        rs.getBigDecimal(6).stripTrailingZeros(), rs.getBigDecimal(7).stripTrailingZeros(),
+                        rs.getInt(8)));
+        assertThat(written).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void failedArchiveLeavesRawTicksInPlace() throws Exception {
+        Path notADir = Files.writeString(dir.resolve("archive"), "occupied"); // 보관 디렉터리를 만들 수 없음
+
+        JobExecution run = runJob(new RetentionProps.Archive(true, notADir.toString()));
+
+        assertThat(run.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(run.getStepExecutions()).extracting(StepExecution::getStepName).containsExactly("tickCompactStep");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM tick", Integer.class)).isEqualTo(ticks.size());
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM tick_bar", Integer.class)).isZero();
+    }
+
+    private static List<Row> readArchive(Path file) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (var in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            assertThat(in.readLine()).isEqualTo("ticker,exchange,last,market_ts,ingested_at,source,latency_ms");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] f = line.split(",");
+                assertThat(f).hasSize(7);
+                rows.add(new Row(f[0], Instant.parse(f[3]), new BigDecimal(f[2]).stripTrailingZeros()));
+            }
+        }
+        return rows;
+    }
+
+    private static List<Bar> rollup(List<Row> rows, BarResolution res) {
+        Map<String, List<Row>> groups = new LinkedHashMap<>();
+        rows.stream().sorted(Comparator.comparing(Row::marketTs))
+                .forEach(r -> groups.computeIfAbsent(r.ticker() + '@' + res.startOf(r.marketTs()), k -> new ArrayList<>()).add(r));
+        return groups.values().stream().map(g -> new Bar(g.get(0).ticker(), res.seconds(),
+                        Instant.ofEpochSecond(res.startOf(g.get(0).marketTs())),
+                        g.get(0).last(),
+                        g.stream().map(Row::last).max(Comparator.naturalOrder()).orElseThrow(),
+                        g.stream().map(Row::last).min(Comparator.naturalOrder()).orElseThrow(),
+                        g.get(g.size() - 1).last(),
+                        g.size()))
+                .toList();
+    }
+
+    private record Row(String ticker, Instant marketTs, BigDecimal last) {}
+
+    private record Bar(String ticker, int resSec, Instant start,
+                       BigDecimal open, BigDecimal high, BigDecimal low, BigDecimal close, int ticks) {}
+}
@@ -0,0 +1,45 @@
+package com.stock.autostock.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTests {
+
+    private static final List<String> TICKERS = IntStream.range(0, 600).mapToObj(i -> "SYM" + i).toList();
+
+    @Test
+    void spreadsSymbolsEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-8081", "node-8082", "node-8083"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        TICKERS.forEach(t -> counts.merge(ring.ownerOf(t), 1, Integer::sum));
+
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(c -> assertThat(c).isBetween(140, 260)); // 이상적 200
+    }
+
+    @Test
+    void joinMovesOnlyItsShare() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+        long moved = TICKERS.stream().filter(t -> !before.ownerOf(t).equals(after.ownerOf(t))).count();
+        assertThat(moved).isBetween(80L, 220L); // 이상적 1/4 = 150
+        // 옮겨 간 종목은 전부 새 노드로 — 기존 노드끼리는 주고받지 않음
+        assertThat(TICKERS).filteredOn(t -> !before.ownerOf(t).equals(after.ownerOf(t)))
+                .allSatisfy(t -> assertThat(after.ownerOf(t)).isEqualTo("d"));
+    }
+
+    @Test
+    void ownershipIsIndependentOfInsertionOrder() {
+        ConsistentHashRing x = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing y = new ConsistentHashRing(List.of("c", "a", "b"), 64);
+        TICKERS.forEach(t -> assertThat(x.ownerOf(t)).isEqualTo(y.ownerOf(t)));
+        assertThat(new ConsistentHashRing(List.of(), 64).ownerOf("IREN")).isNull();
+    }
+}
@@ -0,0 +1,137 @@
+package com.stock.autostock.shard;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.entity.WatchSymbol;
+import com.stock.autostock.watchlist.InMemoryWatchSymbolRepository;
+import com.stock.autostock.watchlist.WatchlistEntry;
+import com.stock.autostock.watchlist.WatchlistProps;
+import com.stock.autostock.watchlist.WatchlistRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 공유 H2 하나에 코디네이터 여럿 — 하트비트마다 종목/리더가 두 노드에 동시에 잡히지 않는지,
+ * 정상 종료와 리스 만료 뒤에 소유가 넘어가는지 본다. 하트비트는 테스트가 직접 호출.
+ */
+class ShardCoordinatorTests {
+
+    private static final long TTL_MS = 2_000;
+
+    private JdbcTemplate jdbc;
+    private WatchlistRegistry watchlist;
+    private final List<ShardCoordinator> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:shard-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE shard_node (node_id VARCHAR(64) PRIMARY KEY, endpoint VARCHAR(255), " +
+                "lease_until TIMESTAMP(6) WITH TIME ZONE NOT NULL)");
+        jdbc.execute("CREATE TABLE shard_symbol_lease (ticker VARCHAR(16) PRIMARY KEY, owner VARCHAR(64) NOT NULL, " +
+                "lease_until TIMESTAMP(6) WITH TIME ZONE NOT NULL)");
+
+        Map<String, WatchSymbol> rows = new ConcurrentSkipListMap<>();
+        for (int i = 0; i < 40; i++) rows.put("SYM" + i, new WatchSymbol("SYM" + i, "NASD", 1000, 0));
+        watchlist = new WatchlistRegistry(InMemoryWatchSymbolRepository.of(rows),
+                new WatchlistProps(250, 0, List.of()),
+                new IngestProps(IngestProps.Mode.ENGINE, 1000, null, null, null, null),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ShardCoordinator::stop);
+        jdbc.execute("SHUTDOWN");
+    }
+
+    private ShardCoordinator node(String id) {
+        // 주기 하트비트는 테스트 중에 돌지 않게 길게 — start() 의 첫 하트비트 뒤로는 직접 호출
+        ShardProps props = new ShardProps(true, id, "http://" + id, TTL_MS, 600_000, 64, false);
+        ShardCoordinator c = new ShardCoordinator(jdbc, props, watchlist, new SimpleMeterRegistry());
+        nodes.add(c);
+        c.start();
+        assertNoDoubleOwnership();
+        return c;
+    }
+
+    private void rounds(int n, ShardCoordinator... live) {
+        for (int i = 0; i < n; i++) {
+            for (ShardCoordinator c : live) {
+                c.heartbeat();
+                assertNoDoubleOwnership();
+            }
+        }
+    }
+
+    private void assertNoDoubleOwnership() {
+        for (WatchlistEntry e : watchlist.entries()) {
+            assertThat(nodes.stream().filter(c -> c.owns(e.ticker())).count())
+                    .as("owners of %s", e.ticker()).isLessThanOrEqualTo(1);
+        }
+        assertThat(nodes.stream().filter(ShardCoordinator::isLeader).count()).as("leaders").isLessThanOrEqualTo(1);
+    }
+
+    private void assertEveryTickerOwnedOnceBy(ShardCoordinator... live) {
+        for (WatchlistEntry e : watchlist.entries()) {
+            assertThat(List.of(live).stream().filter(c -> c.owns(e.ticker())).count())
+                    .as("owners of %s", e.ticker()).isEqualTo(1);
+        }
+        assertThat(List.of(live).stream().filter(ShardCoordinator::isLeader).count()).as("leaders").isEqualTo(1);
+    }
+
+    private long owned(ShardCoordinator c) {
+        return watchlist.entries().stream().filter(e -> c.owns(e.ticker())).count();
+    }
+
+    @Test
+    void splitsSymbolsAndHandsOffOnGracefulStop() {
+        ShardCoordinator a = node("node-a");
+        ShardCoordinator b = node("node-b");
+        ShardCoordinator c = node("node-c");
+        assertThat(a.isLeader()).isTrue(); // 먼저 뜬 노드가 리더 행을 잡음
+
+        rounds(2, a, b, c);
+        assertEveryTickerOwnedOnceBy(a, b, c);
+        assertThat(List.of(a, b, c)).allSatisfy(n -> assertThat(owned(n)).isPositive());
+        assertThat(a.isLeader()).isTrue(); // 멤버가 늘어도 리더는 그대로
+
+        a.stop(); // 리더 정상 종료 — 리스를 지우므로 만료를 기다리지 않음
+        rounds(2, b, c);
+        assertEveryTickerOwnedOnceBy(b, c);
+        assertThat(owned(a)).isZero();
+    }
+
+    @Test
+    void takesOverCrashedNodeOnlyAfterItsLeaseExpires() throws InterruptedException {
+        ShardCoordinator a = node("node-a");
+        ShardCoordinator b = node("node-b");
+        rounds(2, a, b);
+        assertEveryTickerOwnedOnceBy(a, b);
+        long heldByA = owned(a);
+        assertThat(heldByA).isPositive();
+
+        // a 가 하트비트를 멈춤(프로세스 정지). 리스가 살아 있는 동안 b 는 a 의 종목도 리더도 가져가지 못한다
+        rounds(2, b);
+        assertThat(owned(a)).isEqualTo(heldByA);
+        assertThat(b.isLeader()).isFalse();
+
+        Thread.sleep(TTL_MS + 500);
+        assertThat(a.isLeader()).isFalse();  // 로컬 판단이 DB 리스보다 먼저 끝남
+        assertThat(owned(a)).isZero();
+
+        rounds(2, b);
+        assertEveryTickerOwnedOnceBy(b);
+    }
+}
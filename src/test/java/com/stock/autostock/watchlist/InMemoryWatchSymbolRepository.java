@@ -0,0 +1,55 @@
+package com.stock.autostock.watchlist;
+
+import com.stock.autostock.entity.WatchSymbol;
+import com.stock.autostock.entity.WatchSymbolRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 테스트용 watch_symbol 저장소 — WatchlistRegistry 가 쓰는 메서드만 맵으로 흉내 낸다.
+ * rows 를 직접 바꾸면 "다른 노드가 DB 를 바꾼" 상황이 된다.
+ */
+public final class InMemoryWatchSymbolRepository {
+
+    private InMemoryWatchSymbolRepository() {}
+
+    public static WatchSymbolRepository of(Map<String, WatchSymbol> rows) {
+        return (WatchSymbolRepository) Proxy.newProxyInstance(
+                WatchSymbolRepository.class.getClassLoader(),
+                new Class<?>[]{WatchSymbolRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "count" -> (long) rows.size();
+                    case "findAll" -> new ArrayList<>(rows.values());
+                    case "findById" -> Optional.ofNullable(rows.get((String) args[0]));
+                    case "existsById" -> rows.containsKey((String) args[0]);
+                    case "save" -> {
+                        WatchSymbol row = (WatchSymbol) args[0];
+                        rows.put(row.getTicker(), row);
+                        yield row;
+                    }
+                    case "saveAll" -> {
+                        for (Object o : (Iterable<?>) args[0]) {
+                            WatchSymbol row = (WatchSymbol) o;
+                            rows.put(row.getTicker(), row);
+                        }
+                        yield new ArrayList<>(rows.values());
+                    }
+                    case "deleteById" -> {
+                        rows.remove((String) args[0]);
+                        yield null;
+                    }
+                    case "toString" -> "InMemoryWatchSymbolRepository" + rows.keySet();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static WatchSymbolRepository empty() {
+        return of(new ConcurrentSkipListMap<>());
+    }
+}
@@ -0,0 +1,49 @@
+package com.stock.autostock.watchlist;
+
+import com.stock.autostock.domain.TradableUs;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhaseSpreadTests {
+
+    private static WatchlistEntry entry(String ticker, long intervalMs) {
+        return new WatchlistEntry(new TradableUs(ticker, "NASD"), intervalMs, 0);
+    }
+
+    @Test
+    void spreadsEachIntervalGroupEvenly() {
+        Map<String, Long> offsets = PhaseSpread.offsets(List.of(
+                entry("A", 1000), entry("B", 1000), entry("C", 1000), entry("D", 1000),
+                entry("HOT", 250),
+                entry("X", 30_000), entry("Y", 30_000)));
+
+        assertThat(offsets).containsEntry("A", 125L).containsEntry("B", 375L)
+                .containsEntry("C", 625L).containsEntry("D", 875L)
+                .containsEntry("HOT", 125L)
+                .containsEntry("X", 7_500L).containsEntry("Y", 22_500L);
+    }
+
+    @Test
+    void offsetsStayInsideTheirInterval() {
+        List<WatchlistEntry> many = IntStream.range(0, 300)
+                .mapToObj(i -> entry("S" + i, i % 3 == 0 ? 250 : 30_000))
+                .toList();
+        Map<String, Long> offsets = PhaseSpread.offsets(many);
+
+        assertThat(offsets).hasSize(300);
+        many.forEach(e -> assertThat(offsets.get(e.ticker())).isBetween(0L, e.intervalMs() - 1));
+    }
+
+    @Test
+    void insertOffsetFillsWidestGapWithoutMovingOthers() {
+        assertThat(PhaseSpread.insertOffset(1000, List.of())).isEqualTo(500L);
+        assertThat(PhaseSpread.insertOffset(1000, List.of(125L, 375L, 625L))).isEqualTo(875L); // 주기 끝을 넘는 구간
+        assertThat(PhaseSpread.insertOffset(1000, List.of(100L, 200L, 900L))).isEqualTo(550L);
+        assertThat(PhaseSpread.insertOffset(1000, List.of(-100L))).isEqualTo(400L);           // 밀린 슬롯은 900 으로
+    }
+}
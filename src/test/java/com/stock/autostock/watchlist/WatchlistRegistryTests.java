@@ -0,0 +1,104 @@
+package com.stock.autostock.watchlist;
+
+import com.stock.autostock.config.IngestProps;
+import com.stock.autostock.domain.TradableUs;
+import com.stock.autostock.entity.WatchSymbol;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WatchlistRegistryTests {
+
+    private static final IngestProps INGEST = new IngestProps(IngestProps.Mode.ENGINE, 1000, null, null, null, null);
+
+    private final Map<String, WatchSymbol> rows = new ConcurrentSkipListMap<>();
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    private WatchlistRegistry registry(long refreshMs, List<WatchlistProps.Symbol> seed) {
+        return new WatchlistRegistry(InMemoryWatchSymbolRepository.of(rows),
+                new WatchlistProps(250, refreshMs, seed), INGEST, meters);
+    }
+
+    @Test
+    void seedsEmptyTableFromDefaults() {
+        WatchlistRegistry r = registry(0, List.of());
+        assertThat(r.assets()).containsExactly(TradableUs.BITF, TradableUs.CLSK, TradableUs.IREN);
+        assertThat(rows).containsOnlyKeys("IREN", "BITF", "CLSK");
+        assertThat(r.entries()).allSatisfy(e -> assertThat(e.intervalMs()).isEqualTo(1000));
+    }
+
+    @Test
+    void seedsEmptyTableFromConfig() {
+        WatchlistRegistry r = registry(0, List.of(
+                new WatchlistProps.Symbol(" mara ", "NYSE", 500L, 1),
+                new WatchlistProps.Symbol("RIOT", "NASD", null, 3)));
+        assertThat(r.entries()).containsExactly(
+                new WatchlistEntry(new TradableUs("RIOT", "NASD"), 1000, 3),   // 우선순위 내림차순
+                new WatchlistEntry(new TradableUs("MARA", "NYSE"), 500, 1));
+        assertThat(meters.get("watchlist.requested.rps").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void existingRowsAreNotReseeded() {
+        rows.put("ZZZ", new WatchSymbol("ZZZ", "NASD", 2000, 0));
+        WatchlistRegistry r = registry(0, List.of(new WatchlistProps.Symbol("AAA", "NASD", null, 0)));
+        assertThat(r.entries()).extracting(WatchlistEntry::ticker).containsExactly("ZZZ");
+    }
+
+    @Test
+    void notifiesListenersOnlyOnChangeEvenIfOneFails() {
+        WatchlistRegistry r = registry(0, List.of());
+        AtomicInteger calls = new AtomicInteger();
+        r.addListener(() -> {
+            throw new IllegalStateException("boom");
+        });
+        r.addListener(calls::incrementAndGet);
+
+        r.upsert("mara", null, null, null);
+        assertThat(calls).hasValue(1);
+        assertThat(r.find("MARA")).get().extracting(WatchlistEntry::intervalMs).isEqualTo(1000L);
+
+        r.reload();                                   // 그대로 — 통지 없음
+        r.upsert("MARA", null, 2000L, null);           // 주기만 변경, 나머지 유지
+        assertThat(calls).hasValue(2);
+        assertThat(r.find("MARA")).get().isEqualTo(new WatchlistEntry(new TradableUs("MARA", "NASD"), 2000, 0));
+
+        assertThat(r.remove("MARA")).isTrue();
+        assertThat(r.remove("MARA")).isFalse();
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void rejectsTooShortIntervalAndBlankTicker() {
+        WatchlistRegistry r = registry(0, List.of());
+        assertThatThrownBy(() -> r.upsert("MARA", null, 100L, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> r.upsert(" ", null, null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(rows).doesNotContainKey("MARA");
+    }
+
+    @Test
+    void refresherPicksUpRowsChangedByAnotherNode() throws InterruptedException {
+        WatchlistRegistry r = registry(20, List.of());
+        AtomicInteger calls = new AtomicInteger();
+        r.addListener(calls::incrementAndGet);
+        r.start();
+        try {
+            rows.put("MARA", new WatchSymbol("MARA", "NASD", 1000, 9)); // 다른 노드가 DB 에 추가
+            long deadline = System.currentTimeMillis() + 2_000;
+            while (r.find("MARA").isEmpty() && System.currentTimeMillis() < deadline) Thread.sleep(10);
+
+            assertThat(r.entries().get(0).ticker()).isEqualTo("MARA");
+            assertThat(calls).hasValue(1);
+        } finally {
+            r.stop();
+        }
+        assertThat(r.isRunning()).isFalse();
+    }
+}